@@ -0,0 +1,69 @@
+package Benchmarks;
+
+import Logic.Board;
+import Logic.ChessPiece;
+
+/**
+ * Curated positions used by the benchmarks, written as the piece placement field of a FEN, with one group per row from
+ * row "a" to row "h". Uppercase letters are white pieces, lowercase letters are black pieces and digits are runs of
+ * empty squares.
+ */
+public enum BenchmarkPositions{
+    OPENING(true, "r1bqkbnr/1ppp1ppp/p1n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R"),
+    MIDDLEGAME(true, "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R"),
+    ENDGAME(true, "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8"),
+    TACTICAL(true, "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1");
+
+    private final boolean isWhiteTurn;
+    private final String diagram;
+
+    BenchmarkPositions(boolean isWhiteTurn, String diagram){
+        this.isWhiteTurn = isWhiteTurn;
+        this.diagram = diagram;
+    }
+
+    /**
+     * Gets whose turn it is in this position.
+     *
+     * @return True if it's white's turn, and false if it's black's turn.
+     */
+    public boolean isWhiteTurn(){
+        return isWhiteTurn;
+    }
+
+    /**
+     * Gets the color of the player to move, as used by {@link Board}.
+     *
+     * @return Board.WHITE or Board.BLACK.
+     */
+    public int getColor(){
+        return isWhiteTurn? Board.WHITE : Board.BLACK;
+    }
+
+    /**
+     * Gets the color name of the player to move, as used by {@link ChessPiece#getPlayer()}.
+     *
+     * @return "white" or "black".
+     */
+    public String getColorName(){
+        return isWhiteTurn? "white" : "black";
+    }
+
+    /**
+     * Gets this position in Forsyth-Edwards Notation (FEN), as read by {@link Board#fromFen(CharSequence)}.
+     *
+     * @return String with the position in FEN.
+     */
+    public String getFen(){
+        return diagram + (isWhiteTurn? " w - - 0 1" : " b - - 0 1");
+    }
+
+    /**
+     * Creates a new board with this position.
+     *
+     * @return A Board with the pieces of this position and its player to move.
+     */
+    public Board createBoard(){
+        return Board.fromFen(getFen());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package Benchmarks;
+
+import Logic.Board;
+import Logic.ChessPiece;
+import Logic.King;
+import Logic.MoveList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks of the Board operations used by move generation, check detection and saving.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark{
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME", "TACTICAL"})
+    public BenchmarkPositions position;
+
+    private Board board;
+    private King king;
+    private ChessPiece[] pieces;
+    private String boardString;
+    private String fen;
+    private final StringBuilder fenBuilder = new StringBuilder(90);
+    private final Board fenBoard = new Board(false);
+    private final MoveList moves = new MoveList();
+
+    /**
+     * Loads the benchmarked position.
+     */
+    @Setup
+    public void setup(){
+        board = position.createBoard();
+        king = board.getMyKing(position.getColorName());
+        pieces = board.getPiecesByColor(position.getColorName()).toArray(new ChessPiece[0]);
+        boardString = board.boardToString();
+        fen = position.getFen();
+    }
+
+    /**
+     * Copies the whole board, pieces included.
+     */
+    @Benchmark
+    public Board cloneBoard(){
+        return board.cloneBoard();
+    }
+
+    /**
+     * Looks up the position of every piece of the player to move.
+     */
+    @Benchmark
+    public void getPosition(Blackhole blackhole){
+        for(ChessPiece piece : pieces)
+            blackhole.consume(board.getPosition(piece));
+    }
+
+    /**
+     * Collects the pieces of the player to move.
+     */
+    @Benchmark
+    public ArrayList<ChessPiece> getPiecesByColor(){
+        return board.getPiecesByColor(position.getColorName());
+    }
+
+    /**
+     * Visits the squares of the pieces of the player to move through the board's piece list, without copying it.
+     */
+    @Benchmark
+    public void pieceSquares(Blackhole blackhole){
+        int color = position.getColor();
+        for(int i = 0; i < board.getPieceCount(color); i++)
+            blackhole.consume(board.getPieceSquare(color, i));
+    }
+
+    /**
+     * Verifies if the King of the player to move is in check.
+     */
+    @Benchmark
+    public String isInCheck(){
+        return king.isInCheck(board);
+    }
+
+    /**
+     * Verifies if the player to move has no legal moves left.
+     */
+    @Benchmark
+    public boolean checkMate(){
+        return board.checkMate(position.isWhiteTurn());
+    }
+
+    /**
+     * Fills a reused MoveList with the legal moves of the player to move.
+     */
+    @Benchmark
+    public int generateLegalMoves(){
+        moves.clear();
+        board.generateLegalMoves(position.getColor(), moves);
+        return moves.size();
+    }
+
+    /**
+     * Converts the board to the save format.
+     */
+    @Benchmark
+    public String boardToString(){
+        return board.boardToString();
+    }
+
+    /**
+     * Loads a new board from the save format.
+     */
+    @Benchmark
+    public Board stringToBoard(){
+        Board loadedBoard = new Board(false);
+        loadedBoard.stringToBoard(boardString);
+        return loadedBoard;
+    }
+
+    /**
+     * Writes the board in FEN to a reused StringBuilder.
+     */
+    @Benchmark
+    public int toFen() throws IOException{
+        fenBuilder.setLength(0);
+        board.toFen(fenBuilder);
+        return fenBuilder.length();
+    }
+
+    /**
+     * Loads the position from its FEN into a reused board.
+     */
+    @Benchmark
+    public Board fenToBoard(){
+        fenBoard.fenToBoard(fen);
+        return fenBoard;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package Benchmarks;
+
+import Logic.Board;
+import Logic.ChessPiece;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks of the moves generated by each piece type, with and without the king safety verification.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceMovesBenchmark{
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME", "TACTICAL"})
+    public BenchmarkPositions position;
+
+    @Param({"Pawn", "Knight", "Bishop", "Rook", "Queen", "King"})
+    public String pieceType;
+
+    @Param({"true", "false"})
+    public boolean ind;
+
+    private Board board;
+    private ChessPiece[] pieces;
+
+    /**
+     * Loads the benchmarked position and selects the pieces of the benchmarked type, of both players.
+     */
+    @Setup
+    public void setup(){
+        board = position.createBoard();
+
+        ArrayList<ChessPiece> selectedPieces = new ArrayList<>();
+        for(String color : new String[]{"white", "black"})
+            for(ChessPiece piece : board.getPiecesByColor(color))
+                if(piece.getClass().getSimpleName().equals(pieceType))
+                    selectedPieces.add(piece);
+        pieces = selectedPieces.toArray(new ChessPiece[0]);
+    }
+
+    /**
+     * Gets the possible moves of every selected piece, as Strings.
+     */
+    @Benchmark
+    public void getPossibleMoves(Blackhole blackhole){
+        for(ChessPiece piece : pieces)
+            blackhole.consume(piece.getPossibleMoves(board, ind));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package Files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes files atomically: the new contents are written to a temporary file in the same directory, forced to the disk
+ * and then moved over the target, so a crash leaves either the old file or the new one, never a half-written file.
+ */
+public class AtomicFile{
+    /**
+     * Replaces the contents of a file atomically, creating its directory if needed.
+     *
+     * @param path Path of the file.
+     * @param data ByteBuffer with the new contents, from its position to its limit.
+     * @throws IOException If the file can't be written.
+     */
+    public static void write(Path path, ByteBuffer data) throws IOException{
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+        try{
+            try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)){
+                while(data.hasRemaining())
+                    channel.write(data);
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }finally{
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Replaces the contents of a file atomically, creating its directory if needed.
+     *
+     * @param path Path of the file.
+     * @param data Byte vector with the new contents.
+     * @throws IOException If the file can't be written.
+     */
+    public static void write(Path path, byte[] data) throws IOException{
+        write(path, ByteBuffer.wrap(data));
+    }
+}
\ No newline at end of file
@@ -3,98 +3,345 @@ package Files;
 import GUI.GamePanel;
 import GUI.MenuPanel;
 import Logic.Board;
+import Logic.GameRecord;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
- * Manipulates the text file javaChess.txt.
+ * Manipulates the save file javaChess.dat, written in the binary format of {@link SavedGame}, the moves of the saved
+ * game exported as PGN in javaChess.pgn (see {@link PgnWriter}), the preferences file javaChess.prefs (see
+ * {@link Preferences}), and the move journal javaChess.journal, with the moves made since the save file was written
+ * (see {@link MoveJournal}).
+ * Games saved in the legacy text file javaChess.txt are still loaded, and migrated on the next save.
+ * <p>
+ * Files are written atomically (see {@link AtomicFile}) by a single background thread, so the GUI never waits for the
+ * disk. A file that is saved again before its previous save was written is only written once, with the latest contents.
  */
 public class MatchSaveAndPreferences{
-    private static final String FILE = File.separator + "javaChess" + File.separator + "javaChess.txt";
+    private static final String FILE = File.separator + "javaChess" + File.separator + "javaChess.dat";
+    private static final String LEGACY_FILE = File.separator + "javaChess" + File.separator + "javaChess.txt";
+    private static final String PGN_FILE = File.separator + "javaChess" + File.separator + "javaChess.pgn";
+    private static final String PREFERENCES_FILE = File.separator + "javaChess" + File.separator + "javaChess.prefs";
+    private static final String JOURNAL_FILE = File.separator + "javaChess" + File.separator + "javaChess.journal";
 
-    private static String getFilePath(){
+    /**
+     * Maximum time in milliseconds a journaled move waits before being forced to the disk. It can be changed with the
+     * system property "javaChess.journalSyncInterval".
+     */
+    private static final long JOURNAL_SYNC_INTERVAL = Long.getLong("javaChess.journalSyncInterval", 1000);
+
+    private static final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "save-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<Path, PendingWrite> pendingWrites = new HashMap<>();
+
+    private static MoveJournal journal;
+
+    static{
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            ioExecutor.shutdown();
+            try{
+                ioExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+        }));
+    }
+
+    /**
+     * Contents waiting to be written to a file, and what to do once they are.
+     */
+    private static class PendingWrite{
+        private Supplier<byte[]> contents;
+        private Runnable afterWrite;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+    }
+
+    private static String getFilePath(String file){
         String os = System.getProperty("os.name").toLowerCase();
 
         if(os.contains("win"))
-            return System.getenv("APPDATA") + FILE;
+            return System.getenv("APPDATA") + file;
         else if(os.contains("nix") || os.contains("nux") || os.contains("aix") || os.contains("mac"))
-            return System.getProperty("user.home") + File.separator + ".config" + FILE;
+            return System.getProperty("user.home") + File.separator + ".config" + file;
         else
-            return System.getProperty("java.io.tmpdir") + FILE;
+            return System.getProperty("java.io.tmpdir") + file;
     }
 
     /**
-     * Save the current game state and the user's preferences in the file.
+     * Gets the move journal, creating it the first time. The journal is closed when the application exits, so the moves
+     * still waiting to be written are forced to the disk.
      *
-     * @param board     Reference of the current board.
-     * @param gamePanel Reference of the game panel.
+     * @return The MoveJournal of the game.
+     */
+    private static synchronized MoveJournal getJournal(){
+        if(journal == null){
+            MoveJournal moveJournal = new MoveJournal(Path.of(getFilePath(JOURNAL_FILE)), JOURNAL_SYNC_INTERVAL);
+            Runtime.getRuntime().addShutdownHook(new Thread(moveJournal::close));
+            journal = moveJournal;
+        }
+        return journal;
+    }
+
+    /**
+     * Records a move in the journal, so it survives a crash before the game is saved. The move is written in the background.
+     *
+     * @param move      Integer representing the move (see {@link Logic.Move}).
+     * @param gamePanel Reference of the game panel, with the timers after the move.
      */
-    public static void saveGame(Board board, GamePanel gamePanel){
-        File file = new File(getFilePath());
+    public static void recordMove(int move, GamePanel gamePanel){
+        getJournal().append(move, gamePanel.getWhiteTimeRemaining(), gamePanel.getBlackTimeRemaining());
+    }
+
+    /**
+     * Writes a file in the background, atomically. If the file is still waiting for a previous write, that write is
+     * replaced by this one, and both callers get the same future. The contents are produced by the background thread,
+     * so formatting them doesn't block the caller; they must not depend on state the caller keeps changing.
+     *
+     * @param path       Path of the file.
+     * @param contents   Supplier of the byte vector with the new contents.
+     * @param afterWrite Runnable executed by the background thread after the file is written, or null.
+     * @return CompletableFuture completed when the file is written, or completed exceptionally if it can't be.
+     */
+    private static synchronized CompletableFuture<Void> writeInBackground(Path path, Supplier<byte[]> contents, Runnable afterWrite){
+        PendingWrite pending = pendingWrites.get(path);
+        if(pending == null){
+            pending = new PendingWrite();
+            pendingWrites.put(path, pending);
+            ioExecutor.execute(() -> writePending(path));
+        }
+        pending.contents = contents;
+        pending.afterWrite = afterWrite;
+        return pending.future;
+    }
+
+    /**
+     * Writes the latest contents waiting for a file. Executed by the background thread.
+     *
+     * @param path Path of the file.
+     */
+    private static void writePending(Path path){
+        PendingWrite pending;
+        synchronized(MatchSaveAndPreferences.class){
+            pending = pendingWrites.remove(path);
+        }
 
         try{
-            file.getParentFile().mkdirs();
-        }catch(SecurityException e){
-            System.err.println("Error creating directory: " + e.getMessage());
+            AtomicFile.write(path, pending.contents.get());
+        }catch(IOException | RuntimeException e){
+            System.err.println("Error writing " + path + ": " + e.getMessage());
+            pending.future.completeExceptionally(e);
+            return;
         }
+        if(pending.afterWrite != null)
+            pending.afterWrite.run();
+        pending.future.complete(null);
+    }
+
+    /**
+     * Saves the current game state, which continues the game of the previous save (see
+     * {@link #saveGame(Board, GamePanel, boolean)}).
+     *
+     * @param board     Reference of the current board.
+     * @param gamePanel Reference of the game panel.
+     * @return CompletableFuture completed when both files are saved, or completed exceptionally if one can't be.
+     */
+    public static CompletableFuture<Void> saveGame(Board board, GamePanel gamePanel){
+        return saveGame(board, gamePanel, false);
+    }
 
-        try(BufferedWriter writer = new BufferedWriter(new FileWriter(file))){
-            writer.write(board.boardToString());
+    /**
+     * Saves the current game state in the file, and its moves in the PGN file, in the background. The moves journaled
+     * from now on continue this save, and those made before it are discarded from the journal once the file is written.
+     *
+     * @param board         Reference of the current board.
+     * @param gamePanel     Reference of the game panel.
+     * @param startsNewGame If true, the game was just restarted, so if this save doesn't reach the disk, the moves
+     *                      journaled after it aren't replayed over the previous game.
+     * @return CompletableFuture completed when both files are saved, or completed exceptionally if one can't be.
+     */
+    public static CompletableFuture<Void> saveGame(Board board, GamePanel gamePanel, boolean startsNewGame){
+        SavedGame savedGame = new SavedGame(board.boardToCodes(), gamePanel.isWhiteTurn(),
+                gamePanel.getWhiteTimeRemaining(), gamePanel.getBlackTimeRemaining());
 
-            writer.write("#Timers\n");
-            writer.write("w " + gamePanel.getWhiteTimeRemaining() + " \n");
-            writer.write("b " + gamePanel.getBlackTimeRemaining() + " \n");
+        byte[] data = savedGame.toBytes();
+        int snapshotId = MoveJournal.snapshotId(data);
+        MoveJournal moveJournal = getJournal();
+        moveJournal.checkpoint(snapshotId, startsNewGame);
+        CompletableFuture<Void> gameSaved = writeInBackground(Path.of(getFilePath(FILE)), () -> data, () -> moveJournal.compact(snapshotId));
+        GameRecord gameRecord = gamePanel.getGameRecord().copy();
+        Map<String, String> tags = pgnTags(gamePanel);
+        CompletableFuture<Void> movesSaved = writeInBackground(Path.of(getFilePath(PGN_FILE)), () -> exportPgn(gameRecord, tags), null);
+        return CompletableFuture.allOf(gameSaved, movesSaved);
+    }
 
-            writer.write(gamePanel.isWhiteTurn()? "true\n" : "false\n");
-            writer.write(gamePanel.isVisualAssists()? "true\n" : "false\n");
-            writer.write(gamePanel.isColorContrast()? "true\n" : "false\n");
-            writer.write(gamePanel.getChessApp().isLightMode()? "true\n" : "false\n");
+    /**
+     * Creates the PGN tags of the current game.
+     *
+     * @param gamePanel Reference of the game panel.
+     * @return Map with the value of each tag, by name, in the order they are written.
+     */
+    private static Map<String, String> pgnTags(GamePanel gamePanel){
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("Event", "JavaChess game");
+        tags.put("Date", LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy.MM.dd")));
+        tags.put("White", gamePanel.getComputerColor() == Board.WHITE? "Computer" : "Player");
+        tags.put("Black", gamePanel.getComputerColor() == Board.BLACK? "Computer" : "Player");
+        return tags;
+    }
 
+    /**
+     * Exports the moves of a game as PGN. Executed by the background thread, since finding the notation of each move
+     * generates the legal moves of its position.
+     *
+     * @param gameRecord GameRecord with the moves of the game, not changed by other threads.
+     * @param tags       Map with the value of each tag, by name.
+     * @return Byte vector with the PGN text, in UTF-8.
+     */
+    private static byte[] exportPgn(GameRecord gameRecord, Map<String, String> tags){
+        StringBuilder pgn = new StringBuilder();
+        try{
+            new PgnWriter(pgn).write(gameRecord, tags);
         }catch(IOException e){
-            System.err.println("Error saving game state: " + e.getMessage());
+            throw new AssertionError(e);
+        }
+        return pgn.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Loads the moves of the saved game from the PGN file, if they lead to the saved position.
+     *
+     * @param board Reference of the board, with the saved position.
+     * @return The GameRecord read from the PGN file, or an empty record starting from the saved position if the file
+     * is missing, can't be read or belongs to another position.
+     */
+    private static GameRecord loadGameRecord(Board board){
+        Path path = Path.of(getFilePath(PGN_FILE));
+        if(!Files.exists(path))
+            return new GameRecord(board.toFen());
+
+        try(PgnReader reader = new PgnReader(Files.newBufferedReader(path))){
+            GameRecord gameRecord = reader.next();
+            if(gameRecord != null && reader.getUnplayedMove() == null && gameRecord.createBoard().getHash() == board.getHash())
+                return gameRecord;
+        }catch(IOException | IllegalArgumentException e){
+            System.err.println("Error loading game moves: " + e.getMessage());
         }
+        return new GameRecord(board.toFen());
     }
 
     /**
-     * Load the saved game and user's preferences.
+     * Saves the user's preferences in their own file, in the background.
+     *
+     * @param gamePanel Reference of the game panel.
+     * @return CompletableFuture completed when the preferences are saved, or completed exceptionally if they can't be.
+     */
+    public static CompletableFuture<Void> savePreferences(GamePanel gamePanel){
+        Preferences preferences = new Preferences(gamePanel.isVisualAssists(), gamePanel.isColorContrast(),
+                gamePanel.getChessApp().isLightMode());
+        return writeInBackground(Path.of(getFilePath(PREFERENCES_FILE)), preferences::toBytes, null);
+    }
+
+    /**
+     * Sets the user's preferences in the game panel.
+     *
+     * @param preferences The preferences.
+     * @param gamePanel   Reference of the game panel.
+     */
+    private static void applyPreferences(Preferences preferences, GamePanel gamePanel){
+        gamePanel.setVisualAssists(preferences.isVisualAssists());
+        gamePanel.setColorContrast(preferences.isColorContrast());
+        gamePanel.getChessApp().setLightMode(preferences.isLightMode());
+    }
+
+    /**
+     * Load the user's preferences and the saved game into the game panel and its board, then replays the moves of the
+     * journal made after the game was saved, and saves the result so the journal starts empty.
+     * If there is no binary save file, the legacy text file is loaded instead. If there is no preferences file and the
+     * game was read from the legacy text format, the preferences stored with it are used, and moved to their own file.
      *
      * @param gamePanel Reference of the game panel.
      * @param menuPanel Reference of the menu panel.
-     * @return String representing the saved board state.
+     * @return True if a saved game was loaded, false if there is none or it couldn't be read.
      */
-    public static String loadGame(GamePanel gamePanel, MenuPanel menuPanel){
+    public static boolean loadGame(GamePanel gamePanel, MenuPanel menuPanel){
+        boolean hasPreferences;
+        try{
+            applyPreferences(Preferences.fromBytes(Files.readAllBytes(Path.of(getFilePath(PREFERENCES_FILE)))), gamePanel);
+            hasPreferences = true;
+        }catch(IOException e){
+            hasPreferences = false;
+        }
+
         try{
-            BufferedReader reader = new BufferedReader(new FileReader(getFilePath()));
-            StringBuilder boardBuilder = new StringBuilder();
-            String line;
-
-            while((line = reader.readLine()) != null){
-                if(line.equals("#Timers"))
-                    break;
-                boardBuilder.append(line).append("\n");
+            File file = new File(getFilePath(FILE));
+            if(!file.exists())
+                file = new File(getFilePath(LEGACY_FILE));
+            byte[] data = Files.readAllBytes(file.toPath());
+            SavedGame savedGame = SavedGame.fromBytes(data);
+
+            gamePanel.setWhiteTimeRemaining(savedGame.getWhiteTimeRemaining());
+            gamePanel.setBlackTimeRemaining(savedGame.getBlackTimeRemaining());
+            gamePanel.setWhiteTurn(savedGame.isWhiteTurn());
+            if(!hasPreferences && savedGame.getLegacyPreferences() != null){
+                applyPreferences(savedGame.getLegacyPreferences(), gamePanel);
+                savePreferences(gamePanel);
             }
+            Board board = gamePanel.getChessBoard();
+            board.codesToBoard(savedGame.getPieceCodes());
+            GameRecord gameRecord = loadGameRecord(board);
 
-            while((line = reader.readLine()) != null){
-                if(line.startsWith("w"))
-                    gamePanel.setWhiteTimeRemaining(Integer.parseInt(line.split(" ")[1]));
-                else if(line.startsWith("b"))
-                    gamePanel.setBlackTimeRemaining(Integer.parseInt(line.split(" ")[1]));
-                else{
-                    gamePanel.setWhiteTurn(Boolean.parseBoolean(line));
-                    line = reader.readLine();
-                    gamePanel.setVisualAssists(Boolean.parseBoolean(line));
-                    line = reader.readLine();
-                    gamePanel.setColorContrast(Boolean.parseBoolean(line));
-                    line = reader.readLine();
-                    gamePanel.getChessApp().setLightMode(Boolean.parseBoolean(line));
-                }
+            List<int[]> journaledMoves = MoveJournal.read(Path.of(getFilePath(JOURNAL_FILE)), MoveJournal.snapshotId(data));
+            for(int[] record : journaledMoves){
+                board.makeMove(record[0]);
+                gameRecord.add(record[0], record[1], record[2]);
+                gamePanel.setWhiteTurn(board.isWhiteTurn());
+                gamePanel.setWhiteTimeRemaining(record[1]);
+                gamePanel.setBlackTimeRemaining(record[2]);
             }
+            gamePanel.setGameRecord(gameRecord);
+            saveGame(board, gamePanel);
 
             menuPanel.enableContinueButton();
-            return boardBuilder.toString();
+            return true;
         }catch(IOException e){
+            if(!(e instanceof NoSuchFileException))
+                System.err.println("Error loading game state: " + e.getMessage());
             menuPanel.disableContinueButton();
-            return null;
+            return false;
         }
     }
-}
+
+    /**
+     * Loads the board and the player to move of a saved game file, in either format, without the GUI.
+     *
+     * @param filePath String with the path of the saved game file.
+     * @return A Board with the saved position and player to move.
+     * @throws IOException If the file can't be read or isn't a valid saved game.
+     */
+    public static Board loadBoard(String filePath) throws IOException{
+        SavedGame savedGame = SavedGame.fromBytes(Files.readAllBytes(Path.of(filePath)));
+
+        Board board = new Board(false);
+        board.setWhiteTurn(savedGame.isWhiteTurn());
+        board.codesToBoard(savedGame.getPieceCodes());
+        return board;
+    }
+}
\ No newline at end of file
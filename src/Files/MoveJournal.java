@@ -0,0 +1,363 @@
+package Files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the moves made since the last saved snapshot of the game, so a crash loses at most the moves
+ * of the last sync interval instead of the whole match.
+ * <p>
+ * The file starts with the magic number "JCJL" and the identifier of the snapshot it continues (see
+ * {@link #snapshotId(byte[])}), followed by one record of {@value #RECORD_SIZE} bytes per move: the packed move (see
+ * {@link Logic.Move}), the remaining time of white and black in seconds after the move, and the CRC-32 of these values.
+ * A checkpoint record, with a move of {@value #CHECKPOINT_MOVE}, a snapshot identifier in place of white's time and 1 in
+ * place of black's time if the snapshot starts a new game, marks where a new snapshot starts, so moves keep being
+ * journaled while the snapshot is written. Once the snapshot is safely on the disk, the journal is compacted to the
+ * records after its checkpoint.
+ * All writes are made by a background thread, which writes the records in batches and forces them to the disk at most
+ * once per sync interval, so the callers never wait for the disk.
+ */
+public class MoveJournal{
+    private static final int MAGIC = 0x4A434A4C;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 16;
+
+    private static final int CHECKPOINT_MOVE = -1;
+
+    private static final int APPEND = 0;
+    private static final int CHECKPOINT = 1;
+    private static final int COMPACT = 2;
+    private static final int CLOSE = 3;
+
+    private final Path path;
+    private final long syncInterval;
+    private final BlockingQueue<int[]> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 256);
+    private final List<int[]> records = new ArrayList<>();
+    private int syncedRecords;
+    private long recordsStart = -1;
+    private FileChannel channel;
+
+    /**
+     * Instantiates the journal and starts its writer thread. The file is only opened when the first entry is written.
+     *
+     * @param path         Path of the journal file.
+     * @param syncInterval Maximum time in milliseconds that a written record may wait before being forced to the disk.
+     */
+    public MoveJournal(Path path, long syncInterval){
+        this.path = path;
+        this.syncInterval = syncInterval;
+        writer = new Thread(this::writeEntries, "journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Appends a move to the journal, in the background.
+     *
+     * @param move               Integer representing the move (see {@link Logic.Move}).
+     * @param whiteTimeRemaining Integer with white's remaining time in seconds after the move.
+     * @param blackTimeRemaining Integer with black's remaining time in seconds after the move.
+     */
+    public void append(int move, int whiteTimeRemaining, int blackTimeRemaining){
+        queue.add(new int[]{APPEND, move, whiteTimeRemaining, blackTimeRemaining});
+    }
+
+    /**
+     * Marks, in the background, that the moves appended from now on continue a new snapshot, which is still being written.
+     *
+     * @param snapshotId    Integer identifying the snapshot, as returned by {@link #snapshotId(byte[])}.
+     * @param startsNewGame If true, the snapshot starts a new game, so the moves after it don't continue the previous ones.
+     */
+    public void checkpoint(int snapshotId, boolean startsNewGame){
+        queue.add(new int[]{CHECKPOINT, snapshotId, startsNewGame? 1 : 0});
+    }
+
+    /**
+     * Discards, in the background, the records before the checkpoint of a snapshot, once that snapshot is on the disk.
+     * The journal is rewritten atomically, so a crash leaves either the old journal or the compacted one.
+     *
+     * @param snapshotId Integer identifying the snapshot, as given to {@link #checkpoint(int, boolean)}.
+     */
+    public void compact(int snapshotId){
+        queue.add(new int[]{COMPACT, snapshotId});
+    }
+
+    /**
+     * Writes and forces to the disk all entries added so far, then stops the writer thread.
+     */
+    public void close(){
+        queue.add(new int[]{CLOSE});
+        try{
+            writer.join();
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writer thread loop: takes every entry waiting in the queue, writes them with as few writes as possible, and forces
+     * the file to the disk once the sync interval has passed since the first record that wasn't forced yet.
+     * <p>
+     * The records written since the last compaction are kept in memory, so compacting doesn't read the file back, and
+     * so the file can be rewritten from them after an error. An error is reported and the file is reopened for the next
+     * entries, or after the sync interval if records are still waiting; only closing the journal or an interrupt stops
+     * the thread.
+     */
+    private void writeEntries(){
+        List<int[]> batch = new ArrayList<>();
+        long unsyncedSince = -1;
+        boolean isClosing = false;
+
+        while(!isClosing){
+            try{
+                int[] entry = unsyncedSince < 0? queue.take() : queue.poll(unsyncedSince + syncInterval - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                if(entry != null){
+                    batch.add(entry);
+                    queue.drainTo(batch);
+                }
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            List<Integer> compactions = new ArrayList<>();
+            for(int[] e : batch){
+                switch(e[0]){
+                    case APPEND -> records.add(new int[]{e[1], e[2], e[3]});
+                    case CHECKPOINT -> records.add(new int[]{CHECKPOINT_MOVE, e[1], e[2]});
+                    case COMPACT -> compactions.add(e[1]);
+                    default -> isClosing = true;
+                }
+            }
+            batch.clear();
+            if(syncedRecords < records.size() && unsyncedSince < 0)
+                unsyncedSince = System.currentTimeMillis();
+
+            try{
+                writeRecords();
+                for(int snapshotId : compactions)
+                    compactFile(snapshotId);
+                if(isClosing || !compactions.isEmpty() || (unsyncedSince >= 0 && System.currentTimeMillis() - unsyncedSince >= syncInterval)){
+                    if(channel != null)
+                        channel.force(false);
+                    unsyncedSince = -1;
+                }
+            }catch(IOException e){
+                System.err.println("Error writing move journal: " + e.getMessage());
+                closeChannel();
+                syncedRecords = 0;
+                unsyncedSince = System.currentTimeMillis();
+            }
+        }
+        closeChannel();
+    }
+
+    /**
+     * Writes the records that aren't in the file yet, opening it if needed.
+     *
+     * @throws IOException If the file can't be written.
+     */
+    private void writeRecords() throws IOException{
+        if(syncedRecords == records.size())
+            return;
+        if(channel == null)
+            channel = open();
+
+        buffer.clear();
+        for(int i = syncedRecords; i < records.size(); i++){
+            if(buffer.remaining() < RECORD_SIZE)
+                write(channel, buffer);
+            int[] record = records.get(i);
+            putRecord(buffer, record[0], record[1], record[2]);
+        }
+        write(channel, buffer);
+        syncedRecords = records.size();
+    }
+
+    /**
+     * Opens the journal file to append records after those of it that are in memory and already written.
+     * A file that is empty or doesn't start with the journal header gets a new header. A record that was only partly
+     * written, such as by a crash, is cut off, so the records written next stay aligned. If the records in memory are
+     * missing from the file, such as after an error, they are all written again.
+     *
+     * @return The FileChannel of the journal file, positioned where the next record is written.
+     * @throws IOException If the file can't be opened.
+     */
+    private FileChannel open() throws IOException{
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try{
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            int count = 0;
+            while(header.hasRemaining() && count >= 0)
+                count = fileChannel.read(header, header.position());
+            if(header.hasRemaining() || header.getInt(0) != MAGIC){
+                fileChannel.truncate(0);
+                write(fileChannel, header.clear().putInt(MAGIC).putInt(0));
+                recordsStart = HEADER_SIZE;
+                syncedRecords = 0;
+            }
+
+            long end = HEADER_SIZE + (fileChannel.size() - HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE;
+            if(recordsStart < 0 || recordsStart > end){
+                recordsStart = end;
+                syncedRecords = 0;
+            }
+            if(recordsStart + (long) syncedRecords * RECORD_SIZE > end)
+                syncedRecords = 0;
+
+            long position = recordsStart + (long) syncedRecords * RECORD_SIZE;
+            fileChannel.truncate(position);
+            fileChannel.position(position);
+            return fileChannel;
+        }catch(IOException e){
+            fileChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the journal file, if it's open, reporting any error.
+     */
+    private void closeChannel(){
+        try{
+            if(channel != null)
+                channel.close();
+        }catch(IOException e){
+            System.err.println("Error closing move journal: " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    /**
+     * Rewrites the journal atomically with only the records after the last checkpoint of a snapshot, and forgets the
+     * records before it. Nothing is done if that checkpoint was already compacted or never written.
+     *
+     * @param snapshotId Integer identifying the snapshot.
+     * @throws IOException If the file can't be written.
+     */
+    private void compactFile(int snapshotId) throws IOException{
+        int checkpoint = records.size() - 1;
+        while(checkpoint >= 0 && (records.get(checkpoint)[0] != CHECKPOINT_MOVE || records.get(checkpoint)[1] != snapshotId))
+            checkpoint--;
+        if(checkpoint < 0)
+            return;
+
+        List<int[]> kept = records.subList(checkpoint + 1, records.size());
+        ByteBuffer compacted = ByteBuffer.allocate(HEADER_SIZE + RECORD_SIZE * kept.size());
+        compacted.putInt(MAGIC).putInt(snapshotId);
+        for(int[] record : kept)
+            putRecord(compacted, record[0], record[1], record[2]);
+
+        closeChannel();
+        AtomicFile.write(path, compacted.flip());
+        records.subList(0, checkpoint + 1).clear();
+        recordsStart = HEADER_SIZE;
+        syncedRecords = records.size();
+    }
+
+    /**
+     * Writes the contents of a buffer at the end of the journal file and empties the buffer.
+     *
+     * @param channel The FileChannel of the journal file.
+     * @param buffer  The ByteBuffer with the bytes to be written.
+     * @throws IOException If the file can't be written.
+     */
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException{
+        buffer.flip();
+        while(buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Adds a record to a buffer.
+     *
+     * @param buffer             The ByteBuffer where the record is added.
+     * @param move               Integer representing the move.
+     * @param whiteTimeRemaining Integer with white's remaining time in seconds.
+     * @param blackTimeRemaining Integer with black's remaining time in seconds.
+     */
+    private static void putRecord(ByteBuffer buffer, int move, int whiteTimeRemaining, int blackTimeRemaining){
+        int start = buffer.position();
+        buffer.putInt(move).putInt(whiteTimeRemaining).putInt(blackTimeRemaining);
+        buffer.putInt(checksum(buffer.array(), start, RECORD_SIZE - 4));
+    }
+
+    /**
+     * Reads the moves of a journal file that continue a given snapshot: those after the last header or checkpoint of
+     * the snapshot, up to the next checkpoint of a new game. The checkpoints of other snapshots of the same game are
+     * skipped, since their snapshot may not have reached the disk. Reading stops at the first incomplete or damaged
+     * record, such as one that was being written when the application stopped.
+     *
+     * @param path       Path of the journal file.
+     * @param snapshotId Integer identifying the snapshot that was loaded.
+     * @return List of integer vectors with the move, white's remaining time and black's remaining time of each record.
+     * Empty if there is no journal, or if it doesn't continue the snapshot.
+     * @throws IOException If the file exists but can't be read.
+     */
+    public static List<int[]> read(Path path, int snapshotId) throws IOException{
+        List<int[]> records = new ArrayList<>();
+        if(!Files.exists(path))
+            return records;
+
+        byte[] data = Files.readAllBytes(path);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if(data.length < HEADER_SIZE || buffer.getInt() != MAGIC)
+            return records;
+
+        boolean continues = buffer.getInt() == snapshotId;
+        while(buffer.remaining() >= RECORD_SIZE){
+            int start = buffer.position();
+            int[] record = {buffer.getInt(), buffer.getInt(), buffer.getInt()};
+            if(buffer.getInt() != checksum(data, start, RECORD_SIZE - 4))
+                break;
+            if(record[0] == CHECKPOINT_MOVE){
+                if(record[1] == snapshotId){
+                    continues = true;
+                    records.clear();
+                }else if(record[2] != 0)
+                    continues = false;
+            }else if(continues)
+                records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Identifies a snapshot of the game, so a journal is only replayed over the snapshot it continues.
+     *
+     * @param snapshot Byte vector with the contents of the snapshot file.
+     * @return Integer identifying the snapshot (its CRC-32).
+     */
+    public static int snapshotId(byte[] snapshot){
+        return checksum(snapshot, 0, snapshot.length);
+    }
+
+    /**
+     * Computes the CRC-32 of part of a byte vector.
+     *
+     * @param data   Byte vector.
+     * @param offset Integer with the index of the first byte.
+     * @param length Integer with the number of bytes.
+     * @return Integer with the checksum.
+     */
+    private static int checksum(byte[] data, int offset, int length){
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+}
\ No newline at end of file
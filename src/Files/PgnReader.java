@@ -0,0 +1,370 @@
+package Files;
+
+import Logic.Board;
+import Logic.GameRecord;
+import Logic.MoveList;
+import Logic.San;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads games in Portable Game Notation (PGN) one at a time from a Reader, so files of any size can be read without
+ * loading them into memory.
+ * <p>
+ * The moves are read in SAN and played on a board with the legal move generator (see {@link San}), so each game is
+ * returned as a {@link GameRecord}. The remaining times in "[%clk h:mm:ss]" comments are kept in the record, while
+ * other comments, variations and annotation glyphs are skipped. The board has no castling or en passant, so a game
+ * with such a move is read up to the move before it (see {@link #getUnplayedMove()}).
+ */
+public class PgnReader implements Closeable{
+    private static final String DELIMITERS = "{}()[];$";
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int pushedBack = -1;
+    private int line = 1;
+
+    private final StringBuilder token = new StringBuilder();
+    private final Map<String, String> tags = new LinkedHashMap<>();
+    private final Board board = new Board(false);
+    private final MoveList scratch = new MoveList();
+    private String unplayedMove;
+
+    /**
+     * Instantiates a reader. The Reader is read in blocks, so it doesn't need to be buffered.
+     *
+     * @param reader Reader with the PGN text.
+     */
+    public PgnReader(Reader reader){
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next game.
+     *
+     * @return The GameRecord of the game, with its result, or null if there are no more games.
+     * @throws IOException If the Reader can't be read, or a tag or the starting position of the game is invalid. A game
+     *                     with an invalid starting position is skipped, so the next call reads the following game.
+     */
+    public GameRecord next() throws IOException{
+        tags.clear();
+        unplayedMove = null;
+        GameRecord record = null;
+        boolean isAfterMove = false;
+
+        int c;
+        while((c = read()) >= 0){
+            if(Character.isWhitespace(c))
+                continue;
+
+            if(c == '['){
+                if(record != null){
+                    pushedBack = c;
+                    return record;
+                }
+                readTag();
+            }else if(c == '{'){
+                readComment();
+                if(isAfterMove)
+                    readClock(record);
+            }else if(c == ';' || c == '%'){
+                skipLine();
+            }else if(c == '('){
+                skipVariation();
+            }else{
+                token.setLength(0);
+                token.append((char) c);
+                readToken();
+                if(c == '$')
+                    continue;
+
+                if(record == null)
+                    record = startGame();
+                if(isResult(token)){
+                    record.setResult(token.toString());
+                    return record;
+                }
+                isAfterMove = playMove(record);
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Gets the tags of the last game read. The map is reused by the next game.
+     *
+     * @return Map with the tags of the game, by name, in the order they were read.
+     */
+    public Map<String, String> getTags(){
+        return tags;
+    }
+
+    /**
+     * Gets the first move of the last game read that couldn't be played, such as a castling, after which the rest of
+     * its moves were skipped.
+     *
+     * @return String with the move as written in the file, or null if every move of the game was played.
+     */
+    public String getUnplayedMove(){
+        return unplayedMove;
+    }
+
+    /**
+     * Closes the Reader.
+     *
+     * @throws IOException If the Reader can't be closed.
+     */
+    @Override
+    public void close() throws IOException{
+        reader.close();
+    }
+
+    /**
+     * Starts the record of a game when its first move or its result is read, from the position of its "FEN" tag if it
+     * has one, or from the default starting position.
+     *
+     * @return An empty GameRecord, with the result of the "Result" tag.
+     * @throws IOException If the "FEN" tag isn't a valid position, after skipping the rest of the game.
+     */
+    private GameRecord startGame() throws IOException{
+        String fen = tags.get("FEN");
+        GameRecord record;
+        if(fen != null){
+            try{
+                board.fenToBoard(fen);
+            }catch(IllegalArgumentException e){
+                IOException exception = new IOException("Invalid FEN tag before line " + line, e);
+                if(!isResult(token))
+                    skipGame();
+                throw exception;
+            }
+            record = new GameRecord(fen);
+        }else{
+            board.fillBoard();
+            board.setWhiteTurn(true);
+            record = new GameRecord();
+        }
+
+        String result = tags.get("Result");
+        if(result != null && isResult(result))
+            record.setResult(result);
+        return record;
+    }
+
+    /**
+     * Plays the move in the token, skipping the move number written before it, and adds it to the record with the
+     * remaining times of the previous move. Once a move can't be played, the following ones are skipped.
+     *
+     * @param record The record of the game.
+     * @return True if a move was played, and false if the token was only a move number or the move was skipped.
+     */
+    private boolean playMove(GameRecord record){
+        int start = 0;
+        while(start < token.length() && Character.isDigit(token.charAt(start)))
+            start++;
+        while(start < token.length() && token.charAt(start) == '.')
+            start++;
+        if(start == token.length() || unplayedMove != null)
+            return false;
+
+        int move = San.parse(board, token, start, token.length(), scratch);
+        if(move < 0){
+            unplayedMove = token.substring(start);
+            return false;
+        }
+        board.makeMove(move);
+
+        int size = record.size();
+        record.add(move, size > 0? record.getTimeRemaining(size - 1, Board.WHITE) : -1,
+                size > 0? record.getTimeRemaining(size - 1, Board.BLACK) : -1);
+        return true;
+    }
+
+    /**
+     * Sets the remaining time of the player who made the last move from a "[%clk h:mm:ss]" command in the comment read.
+     *
+     * @param record The record of the game.
+     */
+    private void readClock(GameRecord record){
+        int i = token.indexOf("[%clk");
+        if(i < 0)
+            return;
+        i += 5;
+        while(i < token.length() && token.charAt(i) == ' ')
+            i++;
+
+        int seconds = 0, field = 0;
+        for(; i < token.length(); i++){
+            char c = token.charAt(i);
+            if(c >= '0' && c <= '9')
+                field = field * 10 + c - '0';
+            else if(c == ':'){
+                seconds = (seconds + field) * 60;
+                field = 0;
+            }else break;
+        }
+        record.setTimeRemaining(record.size() - 1, board.isWhiteTurn()? Board.BLACK : Board.WHITE, seconds + field);
+    }
+
+    /**
+     * Reads a tag, after its opening bracket, and keeps it in the tags of the game.
+     *
+     * @throws IOException If the Reader can't be read or the tag is invalid.
+     */
+    private void readTag() throws IOException{
+        int c = read();
+        while(c >= 0 && Character.isWhitespace(c))
+            c = read();
+        token.setLength(0);
+        while(c >= 0 && c != '"' && c != ']' && !Character.isWhitespace(c)){
+            token.append((char) c);
+            c = read();
+        }
+        String name = token.toString();
+        while(c >= 0 && Character.isWhitespace(c))
+            c = read();
+        if(c != '"' || name.isEmpty())
+            throw new IOException("Invalid PGN tag at line " + line);
+
+        token.setLength(0);
+        while((c = read()) >= 0 && c != '"'){
+            if(c == '\\')
+                c = read();
+            if(c >= 0)
+                token.append((char) c);
+        }
+        while(c >= 0 && c != ']')
+            c = read();
+        tags.put(name, token.toString());
+    }
+
+    /**
+     * Reads a comment, after its opening brace, into the token.
+     *
+     * @throws IOException If the Reader can't be read.
+     */
+    private void readComment() throws IOException{
+        token.setLength(0);
+        int c;
+        while((c = read()) >= 0 && c != '}')
+            token.append((char) c);
+    }
+
+    /**
+     * Adds the characters of a token to the token being read, up to a whitespace or a delimiter, which is left to be
+     * read next.
+     *
+     * @throws IOException If the Reader can't be read.
+     */
+    private void readToken() throws IOException{
+        int c;
+        while((c = read()) >= 0 && !Character.isWhitespace(c)){
+            if(DELIMITERS.indexOf(c) >= 0){
+                pushedBack = c;
+                return;
+            }
+            token.append((char) c);
+        }
+    }
+
+    /**
+     * Skips the rest of the movetext of the current game, up to its result or to the tags of the next game, which are
+     * left to be read next.
+     *
+     * @throws IOException If the Reader can't be read.
+     */
+    private void skipGame() throws IOException{
+        int c;
+        while((c = read()) >= 0){
+            if(c == '['){
+                pushedBack = c;
+                return;
+            }else if(c == '{'){
+                readComment();
+            }else if(c == ';' || c == '%'){
+                skipLine();
+            }else if(c == '('){
+                skipVariation();
+            }else if(!Character.isWhitespace(c)){
+                token.setLength(0);
+                token.append((char) c);
+                readToken();
+                if(isResult(token))
+                    return;
+            }
+        }
+    }
+
+    /**
+     * Skips the rest of the current line.
+     *
+     * @throws IOException If the Reader can't be read.
+     */
+    private void skipLine() throws IOException{
+        int c = read();
+        while(c >= 0 && c != '\n')
+            c = read();
+    }
+
+    /**
+     * Skips a variation, after its opening parenthesis, including the variations and comments inside it.
+     *
+     * @throws IOException If the Reader can't be read.
+     */
+    private void skipVariation() throws IOException{
+        int depth = 1;
+        int c;
+        while(depth > 0 && (c = read()) >= 0){
+            if(c == '(')
+                depth++;
+            else if(c == ')')
+                depth--;
+            else if(c == '{')
+                readComment();
+            else if(c == ';')
+                skipLine();
+        }
+    }
+
+    /**
+     * Verifies if a token is a game termination marker.
+     *
+     * @param text CharSequence with the token.
+     * @return True if the token is "1-0", "0-1", "1/2-1/2" or "*", and false otherwise.
+     */
+    private static boolean isResult(CharSequence text){
+        return GameRecord.WHITE_WINS.contentEquals(text) || GameRecord.BLACK_WINS.contentEquals(text)
+                || GameRecord.DRAW.contentEquals(text) || GameRecord.UNFINISHED.contentEquals(text);
+    }
+
+    /**
+     * Reads the next character, refilling the buffer from the Reader when it's empty.
+     *
+     * @return Integer with the character, or -1 at the end of the text.
+     * @throws IOException If the Reader can't be read.
+     */
+    private int read() throws IOException{
+        if(pushedBack >= 0){
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        if(position == limit){
+            int count = reader.read(buffer);
+            if(count <= 0)
+                return -1;
+            position = 0;
+            limit = count;
+        }
+        char c = buffer[position++];
+        if(c == '\n')
+            line++;
+        return c;
+    }
+}
\ No newline at end of file
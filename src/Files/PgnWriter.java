@@ -0,0 +1,148 @@
+package Files;
+
+import Logic.Board;
+import Logic.GameRecord;
+import Logic.MoveList;
+import Logic.San;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes games in Portable Game Notation (PGN), one after the other, to an Appendable.
+ * <p>
+ * Each game starts with its tags, the seven required ones first, followed by "SetUp" and "FEN" if it didn't start from
+ * the default position. The moves are written in SAN (see {@link San}), each followed by the remaining time of the
+ * player who moved as a "[%clk h:mm:ss]" comment when it's known, and lines are wrapped at {@value #LINE_LENGTH} characters.
+ */
+public class PgnWriter{
+    private static final String[] REQUIRED_TAGS = {"Event", "Site", "Date", "Round", "White", "Black"};
+    private static final int LINE_LENGTH = 80;
+
+    private final Appendable out;
+    private final MoveList scratch = new MoveList();
+    private final StringBuilder token = new StringBuilder();
+    private int lineLength;
+
+    /**
+     * Instantiates a writer.
+     *
+     * @param out Appendable where the games are written.
+     */
+    public PgnWriter(Appendable out){
+        this.out = out;
+    }
+
+    /**
+     * Writes a game.
+     *
+     * @param record The record of the game.
+     * @param tags   Map with the tags of the game, by name. Required tags that are missing are written as unknown, and
+     *               the "Result", "SetUp" and "FEN" tags are taken from the record instead.
+     * @throws IOException If the Appendable can't be written.
+     */
+    public void write(GameRecord record, Map<String, String> tags) throws IOException{
+        for(String name : REQUIRED_TAGS)
+            writeTag(name, tags.getOrDefault(name, name.equals("Date")? "????.??.??" : "?"));
+        writeTag("Result", record.getResult());
+        if(record.getStartFen() != null){
+            writeTag("SetUp", "1");
+            writeTag("FEN", record.getStartFen());
+        }
+        for(Map.Entry<String, String> tag : tags.entrySet())
+            if(!isWrittenTag(tag.getKey()))
+                writeTag(tag.getKey(), tag.getValue());
+        out.append('\n');
+
+        Board board = record.createStartBoard();
+        int moveNumber = 1;
+        lineLength = 0;
+        for(int i = 0; i < record.size(); i++){
+            int move = record.getMove(i);
+            int color = board.isWhiteTurn()? Board.WHITE : Board.BLACK;
+
+            token.setLength(0);
+            if(color == Board.WHITE || i == 0){
+                token.append(moveNumber).append(color == Board.WHITE? "." : "...");
+                writeToken();
+            }
+            San.append(board, move, scratch, token);
+            writeToken();
+
+            int time = record.getTimeRemaining(i, color);
+            if(time >= 0){
+                token.append("{[%clk ").append(time / 3600).append(':');
+                appendTwoDigits(time / 60 % 60).append(':');
+                appendTwoDigits(time % 60).append("]}");
+                writeToken();
+            }
+
+            board.makeMove(move);
+            if(color == Board.BLACK)
+                moveNumber++;
+        }
+        token.append(record.getResult());
+        writeToken();
+        out.append("\n\n");
+    }
+
+    /**
+     * Verifies if a tag is always written by {@link #write(GameRecord, Map)}, so it isn't repeated.
+     *
+     * @param name String with the name of the tag.
+     * @return True if the tag is a required tag, "SetUp" or "FEN", and false otherwise.
+     */
+    private static boolean isWrittenTag(String name){
+        for(String required : REQUIRED_TAGS)
+            if(required.equals(name))
+                return true;
+        return name.equals("Result") || name.equals("SetUp") || name.equals("FEN");
+    }
+
+    /**
+     * Writes a tag in its own line, escaping the quotes and backslashes of its value.
+     *
+     * @param name  String with the name of the tag.
+     * @param value String with the value of the tag.
+     * @throws IOException If the Appendable can't be written.
+     */
+    private void writeTag(String name, String value) throws IOException{
+        out.append('[').append(name).append(" \"");
+        for(int i = 0; i < value.length(); i++){
+            char c = value.charAt(i);
+            if(c == '"' || c == '\\')
+                out.append('\\');
+            out.append(c);
+        }
+        out.append("\"]\n");
+    }
+
+    /**
+     * Writes the token being built to the movetext, starting a new line if it doesn't fit in the current one, and
+     * empties it.
+     *
+     * @throws IOException If the Appendable can't be written.
+     */
+    private void writeToken() throws IOException{
+        if(lineLength > 0 && lineLength + 1 + token.length() > LINE_LENGTH){
+            out.append('\n');
+            lineLength = 0;
+        }else if(lineLength > 0){
+            out.append(' ');
+            lineLength++;
+        }
+        out.append(token);
+        lineLength += token.length();
+        token.setLength(0);
+    }
+
+    /**
+     * Adds a number from 0 to 99 to the token being built, with a leading zero if needed.
+     *
+     * @param value Integer from 0 to 99.
+     * @return The StringBuilder of the token.
+     */
+    private StringBuilder appendTwoDigits(int value){
+        return token.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+}
\ No newline at end of file
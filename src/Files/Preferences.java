@@ -0,0 +1,109 @@
+package Files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * The user's preferences, kept in their own small file so changing them doesn't rewrite the saved game.
+ * <p>
+ * They are stored in {@value #SIZE} bytes: the magic number "JCPF", the format version, a byte with the preferences as
+ * flags, and the CRC-32 of all preceding bytes.
+ */
+public class Preferences{
+    private static final int MAGIC = 0x4A435046;
+    private static final byte VERSION = 1;
+    private static final int SIZE = 4 + 1 + 1 + 4;
+
+    private static final int VISUAL_ASSISTS = 1;
+    private static final int COLOR_CONTRAST = 1 << 1;
+    private static final int LIGHT_MODE = 1 << 2;
+
+    private final boolean visualAssists;
+    private final boolean colorContrast;
+    private final boolean lightMode;
+
+    /**
+     * Instantiates the preferences.
+     *
+     * @param visualAssists If true, visual assists are on.
+     * @param colorContrast If true, contrast mode is on.
+     * @param lightMode     If true, light mode is on.
+     */
+    public Preferences(boolean visualAssists, boolean colorContrast, boolean lightMode){
+        this.visualAssists = visualAssists;
+        this.colorContrast = colorContrast;
+        this.lightMode = lightMode;
+    }
+
+    /**
+     * Writes these preferences in the binary format.
+     *
+     * @return Byte vector with the preferences.
+     */
+    public byte[] toBytes(){
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        buffer.putInt(MAGIC).put(VERSION);
+        buffer.put((byte) ((visualAssists? VISUAL_ASSISTS : 0) | (colorContrast? COLOR_CONTRAST : 0) | (lightMode? LIGHT_MODE : 0)));
+        buffer.putInt(checksum(buffer.array(), buffer.position()));
+        return buffer.array();
+    }
+
+    /**
+     * Reads preferences in the binary format.
+     *
+     * @param data Byte vector with the contents of a preferences file.
+     * @return The preferences.
+     * @throws IOException If the data isn't valid preferences, its version is unknown or its checksum doesn't match.
+     */
+    public static Preferences fromBytes(byte[] data) throws IOException{
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if(data.length != SIZE || buffer.getInt() != MAGIC || buffer.get() != VERSION)
+            throw new IOException("Unsupported preferences file");
+        if(checksum(data, SIZE - 4) != ByteBuffer.wrap(data, SIZE - 4, 4).getInt())
+            throw new IOException("Corrupted preferences file");
+
+        int flags = buffer.get();
+        return new Preferences((flags & VISUAL_ASSISTS) != 0, (flags & COLOR_CONTRAST) != 0, (flags & LIGHT_MODE) != 0);
+    }
+
+    /**
+     * Computes the CRC-32 of the start of a byte vector.
+     *
+     * @param data   Byte vector.
+     * @param length Integer with the number of bytes to be verified.
+     * @return Integer with the checksum.
+     */
+    private static int checksum(byte[] data, int length){
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Gets whether the visual assists mode is on.
+     *
+     * @return True if visual assists mode is on, and false if it is off.
+     */
+    public boolean isVisualAssists(){
+        return visualAssists;
+    }
+
+    /**
+     * Gets whether the contrast mode is on.
+     *
+     * @return True if contrast mode is on, and false if it is off.
+     */
+    public boolean isColorContrast(){
+        return colorContrast;
+    }
+
+    /**
+     * Gets whether the light mode is on.
+     *
+     * @return True if light mode is on, and false if it is off.
+     */
+    public boolean isLightMode(){
+        return lightMode;
+    }
+}
\ No newline at end of file
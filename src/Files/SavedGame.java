@@ -0,0 +1,195 @@
+package Files;
+
+import Logic.Board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * A saved game: the pieces on the board, the player to move and the timers.
+ * <p>
+ * It is stored in a versioned binary format of {@value #SIZE} bytes: the magic number "JCHS", the format version,
+ * 32 bytes with the piece code of each square (see {@link Logic.PieceCode}) packed as one nibble per square, a byte
+ * with the player to move as a flag, the remaining time of white and black in seconds, and the CRC-32 of all preceding
+ * bytes. Saves in the legacy text format are recognized and read as well; they also hold the user's preferences,
+ * which are kept so they can be migrated to their own file (see {@link Preferences}).
+ */
+public class SavedGame{
+    private static final int MAGIC = 0x4A434853;
+    private static final byte VERSION = 1;
+    private static final int SIZE = 4 + 1 + 32 + 1 + 4 + 4 + 4;
+
+    private static final int WHITE_TURN = 1;
+
+    private final byte[] pieceCodes;
+    private final int flags;
+    private final int whiteTimeRemaining;
+    private final int blackTimeRemaining;
+    private final Preferences legacyPreferences;
+
+    /**
+     * Instantiates a saved game.
+     *
+     * @param pieceCodes         Byte vector with the piece code of each of the 64 squares.
+     * @param isWhiteTurn        If true, it's white's turn; if false, it's black's turn.
+     * @param whiteTimeRemaining Integer with white's remaining time in seconds.
+     * @param blackTimeRemaining Integer with black's remaining time in seconds.
+     */
+    public SavedGame(byte[] pieceCodes, boolean isWhiteTurn, int whiteTimeRemaining, int blackTimeRemaining){
+        this(pieceCodes, isWhiteTurn? WHITE_TURN : 0, whiteTimeRemaining, blackTimeRemaining, null);
+    }
+
+    /**
+     * Instantiates a saved game from its flags.
+     *
+     * @param pieceCodes         Byte vector with the piece code of each of the 64 squares.
+     * @param flags              Integer with the player to move as a flag.
+     * @param whiteTimeRemaining Integer with white's remaining time in seconds.
+     * @param blackTimeRemaining Integer with black's remaining time in seconds.
+     * @param legacyPreferences  Preferences stored with a legacy text save, or null if there are none.
+     */
+    private SavedGame(byte[] pieceCodes, int flags, int whiteTimeRemaining, int blackTimeRemaining, Preferences legacyPreferences){
+        this.pieceCodes = pieceCodes;
+        this.flags = flags;
+        this.whiteTimeRemaining = whiteTimeRemaining;
+        this.blackTimeRemaining = blackTimeRemaining;
+        this.legacyPreferences = legacyPreferences;
+    }
+
+    /**
+     * Writes this game in the binary format.
+     *
+     * @return Byte vector with the saved game.
+     */
+    public byte[] toBytes(){
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        buffer.putInt(MAGIC).put(VERSION);
+        for(int square = 0; square < 64; square += 2)
+            buffer.put((byte) ((pieceCodes[square] << 4) | pieceCodes[square + 1]));
+        buffer.put((byte) flags).putInt(whiteTimeRemaining).putInt(blackTimeRemaining);
+        buffer.putInt(checksum(buffer.array(), buffer.position()));
+        return buffer.array();
+    }
+
+    /**
+     * Reads a saved game, in the binary format or in the legacy text format.
+     *
+     * @param data Byte vector with the contents of a save file.
+     * @return The saved game.
+     * @throws IOException If the data isn't a valid saved game, its version is unknown or its checksum doesn't match.
+     */
+    public static SavedGame fromBytes(byte[] data) throws IOException{
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if(data.length < 4 || buffer.getInt() != MAGIC)
+            return fromLegacyText(new String(data, StandardCharsets.UTF_8));
+
+        if(data.length != SIZE || buffer.get() != VERSION)
+            throw new IOException("Unsupported save file version");
+        if(checksum(data, SIZE - 4) != ByteBuffer.wrap(data, SIZE - 4, 4).getInt())
+            throw new IOException("Corrupted save file");
+
+        byte[] pieceCodes = new byte[64];
+        for(int square = 0; square < 64; square += 2){
+            byte packed = buffer.get();
+            pieceCodes[square] = (byte) ((packed >> 4) & 15);
+            pieceCodes[square + 1] = (byte) (packed & 15);
+        }
+        int flags = buffer.get() & WHITE_TURN;
+        return new SavedGame(pieceCodes, flags, buffer.getInt(), buffer.getInt(), null);
+    }
+
+    /**
+     * Reads a saved game written in the legacy text format: one line per square with the board, then the timers after
+     * "#Timers", then the player to move and the preferences as "true" or "false".
+     *
+     * @param text String with the contents of a save file.
+     * @return The saved game.
+     * @throws IOException If the text isn't a valid saved game.
+     */
+    private static SavedGame fromLegacyText(String text) throws IOException{
+        try{
+            String[] lines = text.split("\n");
+            StringBuilder boardBuilder = new StringBuilder();
+            int line = 0;
+            while(!lines[line].equals("#Timers"))
+                boardBuilder.append(lines[line++]).append("\n");
+            line++;
+
+            int whiteTime = 0, blackTime = 0;
+            while(lines[line].startsWith("w") || lines[line].startsWith("b")){
+                int time = Integer.parseInt(lines[line].split(" ")[1]);
+                if(lines[line++].startsWith("w"))
+                    whiteTime = time;
+                else blackTime = time;
+            }
+
+            Board board = new Board(false);
+            board.stringToBoard(boardBuilder.toString());
+            Preferences preferences = new Preferences(Boolean.parseBoolean(lines[line + 1]), Boolean.parseBoolean(lines[line + 2]),
+                    Boolean.parseBoolean(lines[line + 3]));
+            return new SavedGame(board.boardToCodes(), Boolean.parseBoolean(lines[line])? WHITE_TURN : 0, whiteTime, blackTime, preferences);
+        }catch(RuntimeException e){
+            throw new IOException("Invalid save file", e);
+        }
+    }
+
+    /**
+     * Computes the CRC-32 of the start of a byte vector.
+     *
+     * @param data   Byte vector.
+     * @param length Integer with the number of bytes to be verified.
+     * @return Integer with the checksum.
+     */
+    private static int checksum(byte[] data, int length){
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Gets the pieces of the saved board.
+     *
+     * @return Byte vector with the piece code of each of the 64 squares.
+     */
+    public byte[] getPieceCodes(){
+        return pieceCodes;
+    }
+
+    /**
+     * Gets the player to move.
+     *
+     * @return True if it's white's turn, and false if it's black's turn.
+     */
+    public boolean isWhiteTurn(){
+        return (flags & WHITE_TURN) != 0;
+    }
+
+    /**
+     * Gets the preferences stored with the game by the legacy text format, before they had their own file.
+     *
+     * @return The Preferences saved with the game, or null if it wasn't read from the legacy text format.
+     */
+    public Preferences getLegacyPreferences(){
+        return legacyPreferences;
+    }
+
+    /**
+     * Gets white's remaining time.
+     *
+     * @return An integer with white's remaining time in seconds.
+     */
+    public int getWhiteTimeRemaining(){
+        return whiteTimeRemaining;
+    }
+
+    /**
+     * Gets black's remaining time.
+     *
+     * @return An integer with black's remaining time in seconds.
+     */
+    public int getBlackTimeRemaining(){
+        return blackTimeRemaining;
+    }
+}
\ No newline at end of file
@@ -42,9 +42,7 @@ public class ChessApp extends JFrame{
 
         add(mainPanel);
 
-        String boardString = MatchSaveAndPreferences.loadGame(gamePanel, gamePanel.chessApp.menuPanel);
-        if(boardString != null)
-            gamePanel.getChessBoard().stringToBoard(boardString);
+        MatchSaveAndPreferences.loadGame(gamePanel, gamePanel.chessApp.menuPanel);
         lightMode = !lightMode;
 
         switchColorMode();
@@ -64,6 +62,7 @@ public class ChessApp extends JFrame{
         styleRoundButton(menuPanel.colorModeButton, backgroundColor, foregroundColor, foregroundColor);
         styleRoundButton(menuPanel.assistsButton, backgroundColor, foregroundColor, foregroundColor);
         styleRoundButton(menuPanel.contrastButton, backgroundColor, foregroundColor, foregroundColor);
+        styleRoundButton(menuPanel.computerButton, backgroundColor, foregroundColor, foregroundColor);
 
         styleRoundButton(gamePanel.startButton, backgroundColor, foregroundColor, foregroundColor);
         styleRoundButton(gamePanel.restartButton, backgroundColor, foregroundColor, foregroundColor);
@@ -82,6 +81,7 @@ public class ChessApp extends JFrame{
         menuPanel.row3Panel.setBackground(backgroundColor);
         menuPanel.row2Panel.setBackground(backgroundColor);
         menuPanel.row1Panel.setBackground(backgroundColor);
+        menuPanel.row4Panel.setBackground(backgroundColor);
 
         gamePanel.sidePanel.setBackground(backgroundColor);
         gamePanel.rightPanel.setBackground(backgroundColor);
@@ -2,14 +2,19 @@ package GUI;
 
 import Files.MatchSaveAndPreferences;
 import Logic.Board;
-import Logic.ChessPiece;
+import Logic.GameRecord;
+import Logic.LegalMoveCache;
+import Logic.Move;
 import Logic.VectorPosition;
+import Logic.engine.Search;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.ArrayList;
-import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * The game panel and its components.
@@ -41,6 +46,16 @@ public class GamePanel extends JPanel{
     private Timer whiteTimer;
     private Timer blackTimer;
     private boolean isWhiteTurn = true;
+    private int computerColor = -1;
+    private Search computerSearch;
+    private final ExecutorService rulesExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rules");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> turnStateTask;
+    private LegalMoveCache legalMoves;
+    private GameRecord gameRecord = new GameRecord();
 
     /**
      * Instantiates the GamePanel and its components.
@@ -52,6 +67,7 @@ public class GamePanel extends JPanel{
         setLayout(null);
 
         chessBoard = new Board(true);
+        chessBoard.setBoardListener(this::updateSquares);
         chessTable = createChessBoard();
 
         scrollPane = new JScrollPane(chessTable);
@@ -114,8 +130,8 @@ public class GamePanel extends JPanel{
         quitButton.addActionListener(actionEvent -> {
             chessApp.showCard("Menu");
             pauseGame();
-            MatchSaveAndPreferences.saveGame(chessBoard, GamePanel.this);
-            chessApp.menuPanel.enableContinueButton();
+            MatchSaveAndPreferences.saveGame(chessBoard, GamePanel.this)
+                    .thenRun(() -> SwingUtilities.invokeLater(chessApp.menuPanel::enableContinueButton));
         });
     }
 
@@ -266,10 +282,13 @@ public class GamePanel extends JPanel{
     }
 
     /**
-     * Restarts the game.
+     * Restarts the game, and saves it so the move journal continues the new game.
      */
     public void restartGame(){
+        stopComputer();
         chessBoard = new Board(true);
+        chessBoard.setBoardListener(this::updateSquares);
+        updateBoard();
         whiteTimeRemaining = chessApp.getTime();
         blackTimeRemaining = chessApp.getTime();
         isWhiteTurn = false;
@@ -277,21 +296,55 @@ public class GamePanel extends JPanel{
         infoLabel.setText("");
         victoryLabel.setText("");
         pauseGame();
+        gameRecord = new GameRecord();
+        MatchSaveAndPreferences.saveGame(chessBoard, this, true);
+    }
+
+    /**
+     * Adds a move that was just made to the game record and to the move journal, with the timers after the move.
+     *
+     * @param move Integer representing the move (see {@link Move}).
+     */
+    private void recordMove(int move){
+        gameRecord.add(move, whiteTimeRemaining, blackTimeRemaining);
+        MatchSaveAndPreferences.recordMove(move, this);
     }
 
     /**
      * Updates the visual chess board according to the logic board.
      */
     private void updateBoard(){
-        for(int k = 0; k < 8; k++){
-            for(int i = 0; i < 8; i++){
-                String pos = VectorPosition.convertVectorToStringPosition(new int[]{k, i});
-                ChessPiece piece = chessBoard.getPiece(pos);
-                if(piece != null)
-                    chessTable.setValueAt(piece.getImage(), k, i);
-                else
-                    chessTable.setValueAt(null, k, i);
-            }
+        updateSquares(-1L);
+    }
+
+    /**
+     * Updates some cells of the visual chess board according to the logic board. Only cells whose icon changed are
+     * written to the table, so only those cells are repainted.
+     *
+     * @param squares Bitboard with one bit set for each square to be updated.
+     */
+    private void updateSquares(long squares){
+        while(squares != 0){
+            int square = Long.numberOfTrailingZeros(squares);
+            squares &= squares - 1;
+
+            int type = chessBoard.getPieceType(square);
+            ImageIcon icon = type >= 0? PieceIcons.get(type, chessBoard.getPieceColor(square)) : null;
+            if(chessTable.getValueAt(square >> 3, square & 7) != icon)
+                chessTable.setValueAt(icon, square >> 3, square & 7);
+        }
+    }
+
+    /**
+     * Repaints only some cells of the visual chess board, such as the cells whose overlays changed.
+     *
+     * @param squares Bitboard with one bit set for each square to be repainted.
+     */
+    private void repaintSquares(long squares){
+        while(squares != 0){
+            int square = Long.numberOfTrailingZeros(squares);
+            squares &= squares - 1;
+            chessTable.repaint(chessTable.getCellRect(square >> 3, square & 7, false));
         }
     }
 
@@ -299,12 +352,14 @@ public class GamePanel extends JPanel{
      * Pauses the game.
      */
     public void pauseGame(){
+        stopComputer();
         lockTable();
+        long highlighted = cellRenderer.getHighlightedSquares();
         cellRenderer.clearAllHighlights();
+        repaintSquares(highlighted);
         whiteTimer.stop();
         blackTimer.stop();
         updateTimerLabels();
-        updateBoard();
         startButton.setEnabled(true);
     }
 
@@ -315,38 +370,37 @@ public class GamePanel extends JPanel{
         startButton.setEnabled(false);
         unlockTable();
         updateTimerLabels();
-        updateBoard();
         if(isWhiteTurn)
             whiteTimer.start();
         else blackTimer.start();
+        playComputerMoveIfNeeded();
     }
 
     /**
      * Ends the game.
      */
     public void gameEnds(){
+        stopComputer();
         lockTable();
         whiteTimer.stop();
         blackTimer.stop();
         if(isWhiteTurn){
             imageLayout.show(imagePanel, "black");
             victoryLabel.setText("Black's Victory!");
+            gameRecord.setResult(GameRecord.BLACK_WINS);
         }else{
             imageLayout.show(imagePanel, "white");
             victoryLabel.setText("White's Victory!");
+            gameRecord.setResult(GameRecord.WHITE_WINS);
         }
     }
 
     /**
-     * Switches player's turn, verifying if there was a check or checkmate.
+     * Switches player's turn. Whether there was a check or checkmate is verified in the background (see {@link #updateTurnState()}).
      */
     public void switchTurn(){
         isWhiteTurn = !isWhiteTurn;
-        if(chessBoard.checkMate(isWhiteTurn)){
-            gameEnds();
-            infoLabel.setText("Check Mate!");
-            return;
-        }
+        chessBoard.setWhiteTurn(isWhiteTurn);
         if(isWhiteTurn){
             blackTimer.stop();
             whiteTimer.start();
@@ -356,9 +410,135 @@ public class GamePanel extends JPanel{
             blackTimer.start();
             imageLayout.show(imagePanel, "black");
         }
-        if(chessBoard.getMyKing("white").isInCheck(chessBoard) != null || chessBoard.getMyKing("black").isInCheck(chessBoard) != null)
+        updateTurnState();
+    }
+
+    /**
+     * Generates the legal moves of the player to move on a snapshot of the board, in the rules thread, so the event
+     * thread never waits for the rules. The generation for the previous position is cancelled if it hasn't finished yet.
+     * The result is shown by {@link #showTurnState(LegalMoveCache)}.
+     */
+    private void updateTurnState(){
+        if(turnStateTask != null)
+            turnStateTask.cancel(true);
+
+        Board snapshot = chessBoard.cloneBoard();
+        turnStateTask = rulesExecutor.submit(() -> {
+            LegalMoveCache cache = new LegalMoveCache(snapshot);
+            if(!Thread.currentThread().isInterrupted())
+                SwingUtilities.invokeLater(() -> showTurnState(cache));
+        });
+    }
+
+    /**
+     * Keeps the legal moves of the current position, so clicks only look them up, and shows the moves of the selected
+     * piece. Then ends the game if there is a checkmate or a stalemate, or lets the computer play.
+     * Results of positions that aren't on the board anymore are discarded.
+     *
+     * @param cache The legal moves of a position.
+     */
+    private void showTurnState(LegalMoveCache cache){
+        if(cache.getHash() != chessBoard.getHash())
+            return;
+        legalMoves = cache;
+
+        int selected = cellRenderer.getSelectedSquare();
+        if(selected >= 0){
+            cellRenderer.setValidMoves(cache.getTargets(selected));
+            repaintSquares(cache.getTargets(selected));
+        }
+
+        if(cache.isCheckMate() || cache.isStalemate()){
+            gameEnds();
+            startButton.setEnabled(false);
+            if(cache.isStalemate()){
+                victoryLabel.setText("Draw!");
+                gameRecord.setResult(GameRecord.DRAW);
+                infoLabel.setText("Stalemate!");
+            }else infoLabel.setText("Check Mate!");
+            return;
+        }
+        if(cache.isCheck())
             infoLabel.setText("Check!");
         else infoLabel.setText("");
+        playComputerMoveIfNeeded();
+    }
+
+    /**
+     * Gets the squares a piece can move to in the current position, once its legal moves were generated.
+     *
+     * @param square Integer from 0 to 63 with the position of the piece.
+     * @return Bitboard with the legal new positions of the piece, or no squares if the legal moves of the current
+     * position aren't ready yet.
+     */
+    private long getValidMoves(int square){
+        if(legalMoves == null || legalMoves.getHash() != chessBoard.getHash())
+            return 0;
+        return legalMoves.getTargets(square);
+    }
+
+    /**
+     * Starts searching the computer's move in the background, if it's the computer's turn and the game is running.
+     * The search gets a copy of the board and a time budget of a thirtieth of the computer's remaining time.
+     */
+    private void playComputerMoveIfNeeded(){
+        if(!isComputerTurn() || !chessTable.isEnabled() || computerSearch != null)
+            return;
+
+        Board searchBoard = chessBoard.cloneBoard();
+        long timeLimit = Math.max(100, (isWhiteTurn? whiteTimeRemaining : blackTimeRemaining) * 1000L / 30);
+        Search search = new Search();
+        computerSearch = search;
+
+        new SwingWorker<Integer, Void>(){
+            @Override
+            protected Integer doInBackground(){
+                return search.findBestMove(searchBoard, timeLimit, Search.MAX_PLY);
+            }
+
+            @Override
+            protected void done(){
+                if(computerSearch != search)
+                    return;
+                computerSearch = null;
+
+                int move;
+                try{
+                    move = get();
+                }catch(InterruptedException | ExecutionException e){
+                    System.err.println("Error searching computer move: " + e.getMessage());
+                    return;
+                }
+                if(move == Move.NONE)
+                    return;
+
+                long highlighted = cellRenderer.getHighlightedSquares();
+                chessBoard.makeMove(move);
+                recordMove(move);
+                cellRenderer.setLastMove(Move.getFrom(move), Move.getTo(move));
+                switchTurn();
+                repaintSquares(highlighted | cellRenderer.getHighlightedSquares());
+            }
+        }.execute();
+    }
+
+    /**
+     * Stops the computer's search in progress, discarding its move.
+     */
+    private void stopComputer(){
+        if(computerSearch != null){
+            computerSearch.stop();
+            computerSearch = null;
+        }
+    }
+
+    /**
+     * Verifies if the player to move is played by the computer.
+     *
+     * @return True if it's the computer's turn, and false if it isn't.
+     */
+    private boolean isComputerTurn(){
+        return computerColor == (isWhiteTurn? Board.WHITE : Board.BLACK);
     }
 
     /**
@@ -400,9 +580,6 @@ public class GamePanel extends JPanel{
         chessTable.addMouseListener(new MouseAdapter(){
             private int selectedRow = -1, selectedCol = -1;
             private boolean isPieceSelected = false;
-            private int[] lastMoveFrom = null;
-            private int[] lastMoveTo = null;
-            private final ArrayList<int[]> validMoves = new ArrayList<>();
 
             private long lastClickTime = 0;
 
@@ -415,59 +592,47 @@ public class GamePanel extends JPanel{
 
                 lastClickTime = clickTime;
 
+                if(isComputerTurn())
+                    return;
+
                 int r = chessTable.rowAtPoint(e.getPoint());
                 int c = chessTable.columnAtPoint(e.getPoint());
+                long highlighted = cellRenderer.getHighlightedSquares();
 
                 if(isPieceSelected){
                     int[] from = {selectedRow, selectedCol};
                     int[] to = {r, c};
 
                     if(isValidMove(to)){
-                        chessBoard.movePiece(from, to, GamePanel.this);
-                        lastMoveFrom = from;
-                        lastMoveTo = to;
-                        updateBoard();
+                        int move = chessBoard.movePiece(from, to, GamePanel.this);
+                        recordMove(move);
+                        cellRenderer.setLastMove(VectorPosition.convertVectorToSquare(from), VectorPosition.convertVectorToSquare(to));
                         switchTurn();
                     }
 
                     isPieceSelected = false;
-                    validMoves.clear();
                     cellRenderer.setSelectedCell(-1, -1);
-                    cellRenderer.setValidMoves(validMoves);
-                    cellRenderer.setLastMove(lastMoveFrom, lastMoveTo);
+                    cellRenderer.setValidMoves(0);
                 }else{
-                    ChessPiece piece = chessBoard.getPiece(new int[]{r, c});
-                    if(piece != null && ((isWhiteTurn && piece.getPlayer().getColor().equals("white")) || (!isWhiteTurn && piece.getPlayer().getColor().equals("black")))){
+                    int square = VectorPosition.convertVectorToSquare(new int[]{r, c});
+                    if(square >= 0 && chessBoard.getPieceColor(square) == (isWhiteTurn? Board.WHITE : Board.BLACK)){
                         cellRenderer.setSelectedCell(r, c);
                         isPieceSelected = true;
                         selectedRow = r;
                         selectedCol = c;
-                        validMoves.clear();
-
-                        ArrayList<String> validatedMoves = piece.getPossibleMoves(chessBoard, true);
-
-                        if(validatedMoves != null)
-                            for(String move : validatedMoves){
-                                int[] moveVector = VectorPosition.convertStringToVector(move);
-                                validMoves.add(moveVector);
-                            }
-
-                        cellRenderer.setValidMoves(validMoves);
+                        cellRenderer.setValidMoves(getValidMoves(square));
                     }else{
                         isPieceSelected = false;
-                        validMoves.clear();
                         cellRenderer.setSelectedCell(-1, -1);
-                        cellRenderer.setValidMoves(validMoves);
+                        cellRenderer.setValidMoves(0);
                     }
                 }
-                chessTable.repaint();
+                repaintSquares(highlighted | cellRenderer.getHighlightedSquares());
             }
 
             private boolean isValidMove(int[] position){
-                for(int[] move : validMoves)
-                    if(move[0] == position[0] && move[1] == position[1])
-                        return true;
-                return false;
+                int square = VectorPosition.convertVectorToSquare(position);
+                return square >= 0 && (getValidMoves((selectedRow << 3) | selectedCol) & (1L << square)) != 0;
             }
         });
     }
@@ -484,18 +649,11 @@ public class GamePanel extends JPanel{
 
         final String[] selectedPiece = {null};
 
-        ImageIcon q, b, r, n;
-        if(isWhiteTurn){
-            q = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/wq.png")));
-            b = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/wb.png")));
-            r = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/wr.png")));
-            n = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/wn.png")));
-        }else{
-            q = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/bq.png")));
-            b = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/bb.png")));
-            r = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/br.png")));
-            n = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/bn.png")));
-        }
+        int color = isWhiteTurn? Board.WHITE : Board.BLACK;
+        ImageIcon q = PieceIcons.get(Board.QUEEN, color);
+        ImageIcon b = PieceIcons.get(Board.BISHOP, color);
+        ImageIcon r = PieceIcons.get(Board.ROOK, color);
+        ImageIcon n = PieceIcons.get(Board.KNIGHT, color);
 
         JButton btnQ = createImageButton(q, "q", selectedPiece, dialog);
         JButton btnB = createImageButton(b, "b", selectedPiece, dialog);
@@ -582,6 +740,7 @@ public class GamePanel extends JPanel{
      */
     public void setWhiteTurn(boolean whiteTurn){
         isWhiteTurn = whiteTurn;
+        chessBoard.setWhiteTurn(whiteTurn);
     }
 
     /**
@@ -593,6 +752,24 @@ public class GamePanel extends JPanel{
         return isWhiteTurn;
     }
 
+    /**
+     * Gets the record of the moves made in the current game.
+     *
+     * @return The GameRecord of the current game.
+     */
+    public GameRecord getGameRecord(){
+        return gameRecord;
+    }
+
+    /**
+     * Sets the record of the moves made in the current game, such as one loaded with a saved game.
+     *
+     * @param gameRecord The GameRecord of the current game.
+     */
+    public void setGameRecord(GameRecord gameRecord){
+        this.gameRecord = gameRecord;
+    }
+
     /**
      * Gets the reference of the logic board.
      *
@@ -638,6 +815,24 @@ public class GamePanel extends JPanel{
         return cellRenderer.isContrastMode();
     }
 
+    /**
+     * Sets which player is played by the computer.
+     *
+     * @param computerColor Integer representing the computer's color (Board.WHITE or Board.BLACK), or -1 if both players are human.
+     */
+    public void setComputerColor(int computerColor){
+        this.computerColor = computerColor;
+    }
+
+    /**
+     * Gets which player is played by the computer.
+     *
+     * @return Integer representing the computer's color (Board.WHITE or Board.BLACK), or -1 if both players are human.
+     */
+    public int getComputerColor(){
+        return computerColor;
+    }
+
     /**
      * Get the main App's reference.
      *
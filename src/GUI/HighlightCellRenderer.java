@@ -3,17 +3,28 @@ package GUI;
 import javax.swing.*;
 import javax.swing.table.TableCellRenderer;
 import java.awt.*;
-import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Custom JTable's cells renderer, renders visual assists and shows which piece is selected.
+ * The highlighted cells are kept as 64-bit masks, with bit (row * 8 + column) set for each highlighted cell, and the
+ * scaled piece icons are kept until the cell size changes.
  */
 public class HighlightCellRenderer extends JLabel implements TableCellRenderer{
     private int selectedRow = -1;
     private int selectedColumn = -1;
-    private int[] lastMoveFrom = null;
-    private int[] lastMoveTo = null;
-    private ArrayList<int[]> validMoves = new ArrayList<>();
+    private long lastMove = 0;
+    private long validMoves = 0;
+    private static final int MAX_CACHED_SIZES = 4;
+
+    private final Map<Long, Map<ImageIcon, ImageIcon>> scaledIcons = new LinkedHashMap<>(8, 0.75f, true){
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Map<ImageIcon, ImageIcon>> eldest){
+            return size() > MAX_CACHED_SIZES;
+        }
+    };
     private boolean contrastMode = false;
     private boolean visualAssistsMode = true;
 
@@ -37,27 +48,49 @@ public class HighlightCellRenderer extends JLabel implements TableCellRenderer{
         selectedColumn = col;
     }
 
+    /**
+     * Gets the selected cell.
+     *
+     * @return Integer from 0 to 63 with the selected cell (row * 8 + column), or -1 if no cell is selected.
+     */
+    public int getSelectedSquare(){
+        if(selectedRow < 0 || selectedColumn < 0)
+            return -1;
+        return (selectedRow << 3) | selectedColumn;
+    }
+
     /**
      * Sets the last move made, so it can be rendered in red.
      *
-     * @param from Integer vector with the previous position of the piece.
-     * @param to   Integer vector with the new position of the piece.
+     * @param from Integer from 0 to 63 with the previous position of the piece.
+     * @param to   Integer from 0 to 63 with the new position of the piece.
      */
-    public void setLastMove(int[] from, int[] to){
-        lastMoveFrom = from;
-        lastMoveTo = to;
+    public void setLastMove(int from, int to){
+        lastMove = (1L << from) | (1L << to);
     }
 
     /**
      * Sete the allowed moves of a piece, so they can be rendered in green.
      * Define os movimentos permitidos de uma peca, renderizados de verde.
      *
-     * @param moves An ArrayList of integer vectors with the valid moves of a piece.
+     * @param moves Bitboard with one bit set for each cell the piece can move to.
      */
-    public void setValidMoves(ArrayList<int[]> moves){
+    public void setValidMoves(long moves){
         this.validMoves = moves;
     }
 
+    /**
+     * Gets the cells that have an overlay: the selected cell, the last move and the valid moves.
+     *
+     * @return Bitboard with one bit set for each highlighted cell.
+     */
+    public long getHighlightedSquares(){
+        long highlighted = lastMove | validMoves;
+        if(selectedRow >= 0 && selectedColumn >= 0)
+            highlighted |= 1L << ((selectedRow << 3) | selectedColumn);
+        return highlighted;
+    }
+
     /**
      * Sets the default visual aspects of the JTable.
      *
@@ -81,8 +114,7 @@ public class HighlightCellRenderer extends JLabel implements TableCellRenderer{
         putClientProperty("col", column);
 
         if(value instanceof ImageIcon icon){
-            Image img = icon.getImage().getScaledInstance(table.getColumnModel().getColumn(column).getWidth(), table.getRowHeight(row), Image.SCALE_SMOOTH);
-            setIcon(new ImageIcon(img));
+            setIcon(getScaledIcon(icon, table.getColumnModel().getColumn(column).getWidth(), table.getRowHeight(row)));
             setText("");
         }else{
             setIcon(null);
@@ -91,6 +123,26 @@ public class HighlightCellRenderer extends JLabel implements TableCellRenderer{
         return this;
     }
 
+    /**
+     * Gets a piece icon scaled to the cell size, scaling it only the first time it is drawn at that size.
+     * Icons are cached per cell size, since the columns of a resized table often differ by a pixel, and only the
+     * {@value #MAX_CACHED_SIZES} most recently drawn sizes are kept, so the sizes of earlier resizes are discarded.
+     *
+     * @param icon   The ImageIcon of the piece, as shared by PieceIcons.
+     * @param width  Integer with the width of the cell.
+     * @param height Integer with the height of the cell.
+     * @return The ImageIcon scaled to the cell size.
+     */
+    private ImageIcon getScaledIcon(ImageIcon icon, int width, int height){
+        Map<ImageIcon, ImageIcon> iconsOfSize = scaledIcons.computeIfAbsent(((long) width << 32) | height, size -> new IdentityHashMap<>());
+        ImageIcon scaled = iconsOfSize.get(icon);
+        if(scaled == null){
+            scaled = new ImageIcon(icon.getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH));
+            iconsOfSize.put(icon, scaled);
+        }
+        return scaled;
+    }
+
     /**
      * Paints a colored overlay above a specific cell.
      *
@@ -103,14 +155,13 @@ public class HighlightCellRenderer extends JLabel implements TableCellRenderer{
         int row = (int) getClientProperty("row");
         int col = (int) getClientProperty("col");
 
+        long cell = 1L << ((row << 3) | col);
         Graphics2D g2d = (Graphics2D) g.create();
 
-        if(lastMoveFrom != null && lastMoveTo != null && visualAssistsMode){
-            if((lastMoveFrom[0] == row && lastMoveFrom[1] == col) || (lastMoveTo[0] == row && lastMoveTo[1] == col)){
-                g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f));
-                g2d.setColor(Color.RED);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
-            }
+        if(visualAssistsMode && (lastMove & cell) != 0){
+            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f));
+            g2d.setColor(Color.RED);
+            g2d.fillRect(0, 0, getWidth(), getHeight());
         }
 
         if(row == selectedRow && col == selectedColumn){
@@ -119,13 +170,11 @@ public class HighlightCellRenderer extends JLabel implements TableCellRenderer{
             g2d.fillRect(0, 0, getWidth(), getHeight());
         }
 
-        if(visualAssistsMode)
-            for(int[] move : validMoves)
-                if(move[0] == row && move[1] == col){
-                    g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f));
-                    g2d.setColor(Color.GREEN);
-                    g2d.fillRect(0, 0, getWidth(), getHeight());
-                }
+        if(visualAssistsMode && (validMoves & cell) != 0){
+            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f));
+            g2d.setColor(Color.GREEN);
+            g2d.fillRect(0, 0, getWidth(), getHeight());
+        }
 
         g2d.dispose();
     }
@@ -136,9 +185,8 @@ public class HighlightCellRenderer extends JLabel implements TableCellRenderer{
     public void clearAllHighlights(){
         this.selectedRow = -1;
         this.selectedColumn = -1;
-        this.lastMoveFrom = null;
-        this.lastMoveTo = null;
-        this.validMoves.clear();
+        this.lastMove = 0;
+        this.validMoves = 0;
     }
 
     /**
@@ -1,5 +1,8 @@
 package GUI;
 
+import Files.MatchSaveAndPreferences;
+import Logic.Board;
+
 import javax.swing.*;
 import javax.swing.border.StrokeBorder;
 import java.awt.*;
@@ -15,6 +18,7 @@ public class MenuPanel extends JPanel{
     protected JButton colorModeButton;
     protected JButton contrastButton;
     protected JButton assistsButton;
+    protected JButton computerButton;
     protected JLabel titleLabel;
     protected JPanel titlePanel;
 
@@ -28,6 +32,7 @@ public class MenuPanel extends JPanel{
     protected JPanel row3Panel;
     protected JPanel row2Panel;
     protected JPanel row1Panel;
+    protected JPanel row4Panel;
 
     private boolean contrastMode;
     private boolean assistsMode;
@@ -66,13 +71,16 @@ public class MenuPanel extends JPanel{
         row1Panel = new JPanel();
         row2Panel = new JPanel();
         row3Panel = new JPanel();
+        row4Panel = new JPanel();
         row1Panel.setLayout(new GridBagLayout());
         row2Panel.setLayout(new GridBagLayout());
         row3Panel.setLayout(new GridBagLayout());
+        row4Panel.setLayout(new GridBagLayout());
 
         row1Panel.setAlignmentX(CENTER_ALIGNMENT);
         row2Panel.setAlignmentX(CENTER_ALIGNMENT);
         row3Panel.setAlignmentX(CENTER_ALIGNMENT);
+        row4Panel.setAlignmentX(CENTER_ALIGNMENT);
 
         continueButton = new JButton(" Continue  ");
         newGameButton = new JButton("New Game");
@@ -80,6 +88,7 @@ public class MenuPanel extends JPanel{
         colorModeButton = new JButton(" Dark Mode ");
         assistsButton = new JButton("Visual Assists");
         contrastButton = new JButton("High Contrast");
+        computerButton = new JButton("Computer: Off");
 
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.fill = GridBagConstraints.HORIZONTAL;
@@ -103,6 +112,9 @@ public class MenuPanel extends JPanel{
         row2Panel.add(contrastButton, gbc);
         row3Panel.add(quitButton, gbc);
 
+        gbc.gridx = 0;
+        row4Panel.add(computerButton, gbc);
+
         timePanel = new JPanel();
         timePanel.setLayout(new BoxLayout(timePanel, BoxLayout.X_AXIS));
         timeLabel = new JLabel("Time for each player (in minutes): ");
@@ -131,6 +143,8 @@ public class MenuPanel extends JPanel{
         centerPanel.add(row2Panel);
         centerPanel.add(Box.createVerticalStrut(5));
         centerPanel.add(row3Panel);
+        centerPanel.add(Box.createVerticalStrut(5));
+        centerPanel.add(row4Panel);
 
         add(centerPanel, BorderLayout.CENTER);
 
@@ -152,17 +166,20 @@ public class MenuPanel extends JPanel{
             gamePanel.setWhiteTurn(!gamePanel.isWhiteTurn());
             gamePanel.switchTurn();
             gamePanel.pauseGame();
-            if(gamePanel.chessBoard.checkMate(gamePanel.isWhiteTurn()) || gamePanel.chessBoard.checkMate(!gamePanel.isWhiteTurn()))
-                gamePanel.startButton.setEnabled(false);
         });
 
         quitButton.addActionListener(actionEvent -> System.exit(0));
 
-        colorModeButton.addActionListener(actionEvent -> chessApp.switchColorMode());
+        colorModeButton.addActionListener(actionEvent -> {
+            chessApp.switchColorMode();
+            MatchSaveAndPreferences.savePreferences(gamePanel);
+        });
 
         assistsButton.addActionListener(actionEvent -> toggleAssists());
 
         contrastButton.addActionListener(actionEvent -> toggleContrast());
+
+        computerButton.addActionListener(actionEvent -> toggleComputer());
     }
 
     /**
@@ -195,6 +212,7 @@ public class MenuPanel extends JPanel{
         row1Panel.setMaximumSize(new Dimension(buttonWidth * 2, buttonHeight * 2));
         row2Panel.setMaximumSize(new Dimension(buttonWidth * 2, buttonHeight * 2));
         row3Panel.setMaximumSize(new Dimension(buttonWidth * 2, buttonHeight * 2));
+        row4Panel.setMaximumSize(new Dimension(buttonWidth * 2, buttonHeight * 2));
 
         timeField.setMaximumSize(new Dimension(textFieldWidth, textFieldHeight));
 
@@ -206,6 +224,7 @@ public class MenuPanel extends JPanel{
         updateButtonSizeAndFont(quitButton, buttonWidth, buttonHeight, fontSize);
         updateButtonSizeAndFont(contrastButton, buttonWidth, buttonHeight, fontSize);
         updateButtonSizeAndFont(assistsButton, buttonWidth, buttonHeight, fontSize);
+        updateButtonSizeAndFont(computerButton, buttonWidth, buttonHeight, fontSize);
 
         centerPanel.removeAll();
 
@@ -218,6 +237,8 @@ public class MenuPanel extends JPanel{
         centerPanel.add(row2Panel);
         centerPanel.add(Box.createVerticalStrut(panelHeight / 30));
         centerPanel.add(row3Panel);
+        centerPanel.add(Box.createVerticalStrut(panelHeight / 30));
+        centerPanel.add(row4Panel);
 
         centerPanel.revalidate();
         centerPanel.repaint();
@@ -259,6 +280,7 @@ public class MenuPanel extends JPanel{
         assistsMode = !gamePanel.isVisualAssists();
         gamePanel.setVisualAssists(assistsMode);
         colorToggleButtons();
+        MatchSaveAndPreferences.savePreferences(gamePanel);
     }
 
     /**
@@ -268,6 +290,27 @@ public class MenuPanel extends JPanel{
         contrastMode = !gamePanel.isColorContrast();
         gamePanel.setColorContrast(contrastMode);
         colorToggleButtons();
+        MatchSaveAndPreferences.savePreferences(gamePanel);
+    }
+
+    /**
+     * Switches which player the computer plays: none, black or white.
+     */
+    private void toggleComputer(){
+        switch(gamePanel.getComputerColor()){
+            case -1 -> {
+                gamePanel.setComputerColor(Board.BLACK);
+                computerButton.setText("Computer: Black");
+            }
+            case Board.BLACK -> {
+                gamePanel.setComputerColor(Board.WHITE);
+                computerButton.setText("Computer: White");
+            }
+            default -> {
+                gamePanel.setComputerColor(-1);
+                computerButton.setText("Computer: Off");
+            }
+        }
     }
 
     /**
@@ -0,0 +1,32 @@
+package GUI;
+
+import Logic.Board;
+
+import javax.swing.*;
+import java.util.Objects;
+
+/**
+ * Shared registry of the piece icons, so each image is decoded only once and reused by every piece on every board.
+ * The icons are loaded the first time they are requested.
+ */
+public class PieceIcons{
+    private static final String TYPE_CODES = "pnbrqk";
+    private static final ImageIcon[][] ICONS = new ImageIcon[2][6];
+
+    /**
+     * Gets the icon of a piece.
+     *
+     * @param type  Integer representing the piece type (Board.PAWN, Board.KNIGHT, Board.BISHOP, Board.ROOK, Board.QUEEN or Board.KING).
+     * @param color Integer representing the piece color (Board.WHITE or Board.BLACK).
+     * @return ImageIcon of the piece, shared by all pieces of the same type and color.
+     */
+    public static ImageIcon get(int type, int color){
+        ImageIcon icon = ICONS[color][type];
+        if(icon == null){
+            String path = "Images/" + (color == Board.WHITE? 'w' : 'b') + TYPE_CODES.charAt(type) + ".png";
+            icon = new ImageIcon(Objects.requireNonNull(PieceIcons.class.getClassLoader().getResource(path)));
+            ICONS[color][type] = icon;
+        }
+        return icon;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,178 @@
+package Logic;
+
+/**
+ * Class that contains the precomputed attack tables used to generate moves and to verify if a square is attacked.
+ * Each table has one 64-bit mask per square, with one bit set for each square attacked from it.
+ * Sliding attacks are computed from the ray tables: a ray is cut at its first occupied square by removing the part of
+ * the same ray that starts from that square.
+ */
+public class AttackTables{
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+    private static final long[][] RAYS = new long[8][64];
+
+    /**
+     * Directions of the rays, in the order used by the ray tables: the first four are straight and the last four are diagonal.
+     */
+    private static final int[][] RAY_DIRECTIONS = {
+            {0, 1}, {0, -1}, {-1, 0}, {1, 0},
+            {1, 1}, {1, -1}, {-1, -1}, {-1, 1}
+    };
+
+    static{
+        int[][] knightDirections = {
+                {2, 1}, {2, -1}, {-2, 1}, {-2, -1},
+                {1, 2}, {1, -2}, {-1, 2}, {-1, -2}
+        };
+        int[][] kingDirections = {
+                {0, 1}, {0, -1}, {-1, 0}, {1, 0},
+                {1, 1}, {1, -1}, {-1, -1}, {-1, 1}
+        };
+
+        for(int square = 0; square < 64; square++){
+            int row = square >> 3;
+            int col = square & 7;
+
+            KNIGHT_ATTACKS[square] = mask(row, col, knightDirections);
+            KING_ATTACKS[square] = mask(row, col, kingDirections);
+            PAWN_ATTACKS[Board.WHITE][square] = mask(row, col, new int[][]{{-1, -1}, {-1, 1}});
+            PAWN_ATTACKS[Board.BLACK][square] = mask(row, col, new int[][]{{1, -1}, {1, 1}});
+
+            for(int direction = 0; direction < 8; direction++){
+                int[] d = RAY_DIRECTIONS[direction];
+                for(int r = row + d[0], c = col + d[1]; r >= 0 && r < 8 && c >= 0 && c < 8; r += d[0], c += d[1])
+                    RAYS[direction][square] |= 1L << ((r << 3) | c);
+            }
+        }
+    }
+
+    /**
+     * Builds the mask of the squares reached from a position by a single step in each of the given directions.
+     *
+     * @param row        Integer representing the row of the position.
+     * @param col        Integer representing the column of the position.
+     * @param directions Integer vectors with the steps.
+     * @return Bitboard with one bit set for each square within board bounds.
+     */
+    private static long mask(int row, int col, int[][] directions){
+        long mask = 0;
+        for(int[] d : directions){
+            int[] target = {row + d[0], col + d[1]};
+            if(VectorPosition.checkBoardBounds(target))
+                mask |= 1L << VectorPosition.convertVectorToSquare(target);
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the squares attacked by a Knight.
+     *
+     * @param square Integer from 0 to 63 with the position of the Knight.
+     * @return Bitboard with the squares attacked by a Knight on the given position.
+     */
+    public static long knightAttacks(int square){
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * Gets the squares attacked by a King.
+     *
+     * @param square Integer from 0 to 63 with the position of the King.
+     * @return Bitboard with the squares attacked by a King on the given position.
+     */
+    public static long kingAttacks(int square){
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * Gets the squares attacked by a Pawn. White pawns move towards row "a", and black pawns towards row "h".
+     *
+     * @param square Integer from 0 to 63 with the position of the Pawn.
+     * @param color  Integer representing the color of the Pawn (Board.WHITE or Board.BLACK).
+     * @return Bitboard with the squares attacked by a Pawn of the given color on the given position.
+     */
+    public static long pawnAttacks(int square, int color){
+        return PAWN_ATTACKS[color][square];
+    }
+
+    /**
+     * Gets the squares on a ray from a position to the edge of the board, not including the position itself.
+     *
+     * @param direction Integer from 0 to 7 with the index of the ray direction (0 to 3 are straight, 4 to 7 are diagonal).
+     * @param square    Integer from 0 to 63 with the position.
+     * @return Bitboard with the squares on the ray.
+     */
+    public static long ray(int direction, int square){
+        return RAYS[direction][square];
+    }
+
+    /**
+     * Finds the first occupied square on a ray from a position.
+     * Rays that go towards higher squares are blocked by their lowest occupied square, and the others by their highest.
+     *
+     * @param direction Integer from 0 to 7 with the index of the ray direction (0 to 3 are straight, 4 to 7 are diagonal).
+     * @param square    Integer from 0 to 63 with the position.
+     * @param occupied  Bitboard with the occupied squares.
+     * @return Integer from 0 to 63 with the first occupied square on the ray, or -1 if there is none.
+     */
+    public static int firstBlocker(int direction, int square, long occupied){
+        long blockers = RAYS[direction][square] & occupied;
+        if(blockers == 0)
+            return -1;
+        int[] d = RAY_DIRECTIONS[direction];
+        if(d[0] * 8 + d[1] > 0)
+            return Long.numberOfTrailingZeros(blockers);
+        return 63 - Long.numberOfLeadingZeros(blockers);
+    }
+
+    /**
+     * Gets the squares attacked along a ray, up to and including its first occupied square.
+     *
+     * @param direction Integer from 0 to 7 with the index of the ray direction (0 to 3 are straight, 4 to 7 are diagonal).
+     * @param square    Integer from 0 to 63 with the position of the sliding piece.
+     * @param occupied  Bitboard with the occupied squares.
+     * @return Bitboard with the squares attacked along the ray.
+     */
+    public static long rayAttacks(int direction, int square, long occupied){
+        int blocker = firstBlocker(direction, square, occupied);
+        if(blocker < 0)
+            return RAYS[direction][square];
+        return RAYS[direction][square] ^ RAYS[direction][blocker];
+    }
+
+    /**
+     * Gets the squares attacked by a Rook.
+     *
+     * @param square   Integer from 0 to 63 with the position of the Rook.
+     * @param occupied Bitboard with the occupied squares.
+     * @return Bitboard with the squares attacked by a Rook on the given position, including the first piece on each ray.
+     */
+    public static long rookAttacks(int square, long occupied){
+        return rayAttacks(0, square, occupied) | rayAttacks(1, square, occupied)
+                | rayAttacks(2, square, occupied) | rayAttacks(3, square, occupied);
+    }
+
+    /**
+     * Gets the squares attacked by a Bishop.
+     *
+     * @param square   Integer from 0 to 63 with the position of the Bishop.
+     * @param occupied Bitboard with the occupied squares.
+     * @return Bitboard with the squares attacked by a Bishop on the given position, including the first piece on each ray.
+     */
+    public static long bishopAttacks(int square, long occupied){
+        return rayAttacks(4, square, occupied) | rayAttacks(5, square, occupied)
+                | rayAttacks(6, square, occupied) | rayAttacks(7, square, occupied);
+    }
+
+    /**
+     * Gets the squares attacked by a Queen, the union of the Rook and Bishop attacks.
+     *
+     * @param square   Integer from 0 to 63 with the position of the Queen.
+     * @param occupied Bitboard with the occupied squares.
+     * @return Bitboard with the squares attacked by a Queen on the given position, including the first piece on each ray.
+     */
+    public static long queenAttacks(int square, long occupied){
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+}
\ No newline at end of file
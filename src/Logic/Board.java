@@ -2,14 +2,47 @@ package Logic;
 
 import GUI.GamePanel;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 
 /**
- * Represents the chess board, storing pieces and their positions on the board with a HashMap.
+ * Represents the chess board, storing pieces and their positions on the board with bitboards.
+ * <p>
+ * Squares are indexed from 0 to 63 (row * 8 + column, where row 0 is "a" and column 0 is "0").
+ * Each piece type and each color has a 64-bit mask with one bit per occupied square, and a 64-entry mailbox
+ * keeps the ChessPiece placed on each square.
+ * <p>
+ * A Board isn't thread-safe. To use a position on several threads, give each thread its own copy made with
+ * {@link #cloneBoard()}, which shares no mutable state with the original.
  */
 public class Board{
-    private HashMap<String, ChessPiece> board;
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    private static final String FEN_PIECES = "pnbrqkPNBRQK";
+
+    private ChessPiece[] squares = new ChessPiece[64];
+    private byte[] codes = new byte[64];
+    private int[][] pieceLists = new int[2][64];
+    private int[] pieceCounts = new int[2];
+    private int[] listIndexes = new int[64];
+    private int[] kingSquares = {-1, -1};
+    private long[] pieceBitboards = new long[6];
+    private long[] colorBitboards = new long[2];
+    private long hash;
+    private boolean isWhiteTurn = true;
+    private final MoveList scratchMoves = new MoveList();
+    private final long[] pinRays = new long[64];
+    private long pinnedPieces;
+    private BoardListener listener;
     private final Player white = new Player(0);
     private final Player black = new Player(1);
 
@@ -19,7 +52,6 @@ public class Board{
      * @param fill If true, the board should be filled with the default pieces in their respective positions.
      */
     public Board(boolean fill){
-        board = new HashMap<>();
         if(fill)
             fillBoard();
     }
@@ -28,48 +60,55 @@ public class Board{
      * Fill the board with the default pieces in their respective positions.
      */
     public void fillBoard(){
-        board.put("a0", new Rook(black));
-        board.put("a1", new Knight(black));
-        board.put("a2", new Bishop(black));
-        board.put("a3", new Queen(black));
-        board.put("a4", new King(black));
-        board.put("a5", new Bishop(black));
-        board.put("a6", new Knight(black));
-        board.put("a7", new Rook(black));
-        board.put("b0", new Pawn("b0", black));
-        board.put("b1", new Pawn("b1", black));
-        board.put("b2", new Pawn("b2", black));
-        board.put("b3", new Pawn("b3", black));
-        board.put("b4", new Pawn("b4", black));
-        board.put("b5", new Pawn("b5", black));
-        board.put("b6", new Pawn("b6", black));
-        board.put("b7", new Pawn("b7", black));
-
-        board.put("h0", new Rook(white));
-        board.put("h1", new Knight(white));
-        board.put("h2", new Bishop(white));
-        board.put("h3", new Queen(white));
-        board.put("h4", new King(white));
-        board.put("h5", new Bishop(white));
-        board.put("h6", new Knight(white));
-        board.put("h7", new Rook(white));
-        board.put("g0", new Pawn("g0", white));
-        board.put("g1", new Pawn("g1", white));
-        board.put("g2", new Pawn("g2", white));
-        board.put("g3", new Pawn("g3", white));
-        board.put("g4", new Pawn("g4", white));
-        board.put("g5", new Pawn("g5", white));
-        board.put("g6", new Pawn("g6", white));
-        board.put("g7", new Pawn("g7", white));
-    }
-
-    /**
-     * Gets the reference of the board.
-     *
-     * @return The reference of the current board.
+        clear();
+        putPiece("a0", new Rook(black));
+        putPiece("a1", new Knight(black));
+        putPiece("a2", new Bishop(black));
+        putPiece("a3", new Queen(black));
+        putPiece("a4", new King(black));
+        putPiece("a5", new Bishop(black));
+        putPiece("a6", new Knight(black));
+        putPiece("a7", new Rook(black));
+        putPiece("b0", new Pawn("b0", black));
+        putPiece("b1", new Pawn("b1", black));
+        putPiece("b2", new Pawn("b2", black));
+        putPiece("b3", new Pawn("b3", black));
+        putPiece("b4", new Pawn("b4", black));
+        putPiece("b5", new Pawn("b5", black));
+        putPiece("b6", new Pawn("b6", black));
+        putPiece("b7", new Pawn("b7", black));
+
+        putPiece("h0", new Rook(white));
+        putPiece("h1", new Knight(white));
+        putPiece("h2", new Bishop(white));
+        putPiece("h3", new Queen(white));
+        putPiece("h4", new King(white));
+        putPiece("h5", new Bishop(white));
+        putPiece("h6", new Knight(white));
+        putPiece("h7", new Rook(white));
+        putPiece("g0", new Pawn("g0", white));
+        putPiece("g1", new Pawn("g1", white));
+        putPiece("g2", new Pawn("g2", white));
+        putPiece("g3", new Pawn("g3", white));
+        putPiece("g4", new Pawn("g4", white));
+        putPiece("g5", new Pawn("g5", white));
+        putPiece("g6", new Pawn("g6", white));
+        putPiece("g7", new Pawn("g7", white));
+        notifyListener(-1L);
+    }
+
+    /**
+     * Gets a map view of the board, kept for compatibility with code that reads positions by their String keys.
+     * The map is a snapshot: changes to it are not reflected on the board.
+     *
+     * @return HashMap with the String positions of the current board and the pieces placed on them.
      */
     public HashMap<String, ChessPiece> getBoard(){
-        return board;
+        HashMap<String, ChessPiece> boardMap = new HashMap<>();
+        for(int square = 0; square < 64; square++)
+            if(squares[square] != null)
+                boardMap.put(VectorPosition.convertSquareToStringPosition(square), squares[square]);
+        return boardMap;
     }
 
     /**
@@ -79,7 +118,7 @@ public class Board{
      * @return The piece in the given position, or null if there isn't a piece there.
      */
     public ChessPiece getPiece(String position){
-        return board.get(position);
+        return getPiece(VectorPosition.convertStringToSquare(position));
     }
 
     /**
@@ -89,7 +128,192 @@ public class Board{
      * @return The piece in the given position, or null if there isn't a piece there.
      */
     public ChessPiece getPiece(int[] position){
-        return board.get(VectorPosition.convertVectorToStringPosition(position));
+        return getPiece(VectorPosition.convertVectorToSquare(position));
+    }
+
+    /**
+     * Get the piece in a board position.
+     *
+     * @param square Integer from 0 to 63 with the position.
+     * @return The piece in the given position, or null if there isn't a piece there (or the square is out of bounds).
+     */
+    public ChessPiece getPiece(int square){
+        if(square < 0 || square > 63)
+            return null;
+        return squares[square];
+    }
+
+    /**
+     * Gets the type of the piece in a board position.
+     *
+     * @param square Integer from 0 to 63 with the position.
+     * @return Integer representing the piece type (PAWN, KNIGHT, BISHOP, ROOK, QUEEN or KING), or -1 if the square is empty.
+     */
+    public int getPieceType(int square){
+        return PieceCode.getType(codes[square]);
+    }
+
+    /**
+     * Gets the color of the piece in a board position.
+     *
+     * @param square Integer from 0 to 63 with the position.
+     * @return Integer representing the piece color (WHITE or BLACK), or -1 if the square is empty.
+     */
+    public int getPieceColor(int square){
+        return PieceCode.getColor(codes[square]);
+    }
+
+    /**
+     * Gets the code of the piece in a board position.
+     *
+     * @param square Integer from 0 to 63 with the position.
+     * @return Byte representing the type and color of the piece (see {@link PieceCode}), or PieceCode.EMPTY if the square is empty.
+     */
+    public byte getPieceCode(int square){
+        return codes[square];
+    }
+
+    /**
+     * Gets the number of pieces of a player color. Together with {@link #getPieceSquare(int, int)}, lets the pieces
+     * be visited without copying them into a new collection.
+     *
+     * @param color Integer representing the player color (WHITE or BLACK).
+     * @return Integer with the number of pieces of the given player on the board.
+     */
+    public int getPieceCount(int color){
+        return pieceCounts[color];
+    }
+
+    /**
+     * Gets the position of a piece of a player color, by its index in the piece list of that player.
+     * The order of the list changes as pieces are captured and moved.
+     *
+     * @param color Integer representing the player color (WHITE or BLACK).
+     * @param index Integer from 0 to getPieceCount(color) - 1.
+     * @return Integer from 0 to 63 with the position of the piece.
+     */
+    public int getPieceSquare(int color, int index){
+        return pieceLists[color][index];
+    }
+
+    /**
+     * Gets the position of the King of a player color.
+     *
+     * @param color Integer representing the player color (WHITE or BLACK).
+     * @return Integer from 0 to 63 with the position of the King, or -1 if the player has no King on the board.
+     */
+    public int getKingSquare(int color){
+        return kingSquares[color];
+    }
+
+    /**
+     * Gets the mask of the squares occupied by a piece type of a player color.
+     *
+     * @param type  Integer representing the piece type (PAWN, KNIGHT, BISHOP, ROOK, QUEEN or KING).
+     * @param color Integer representing the player color (WHITE or BLACK).
+     * @return Bitboard with one bit set for each square occupied by the given pieces.
+     */
+    public long getPieceBitboard(int type, int color){
+        return pieceBitboards[type] & colorBitboards[color];
+    }
+
+    /**
+     * Gets the mask of the squares occupied by a player color.
+     *
+     * @param color Integer representing the player color (WHITE or BLACK).
+     * @return Bitboard with one bit set for each square occupied by the given player.
+     */
+    public long getColorBitboard(int color){
+        return colorBitboards[color];
+    }
+
+    /**
+     * Gets the mask of all occupied squares.
+     *
+     * @return Bitboard with one bit set for each occupied square.
+     */
+    public long getOccupied(){
+        return colorBitboards[WHITE] | colorBitboards[BLACK];
+    }
+
+    /**
+     * Gets the Zobrist hash of the position, covering the placement of the pieces and the player to move.
+     *
+     * @return The 64-bit hash of the current position.
+     */
+    public long getHash(){
+        return hash;
+    }
+
+    /**
+     * Gets the player to move.
+     *
+     * @return True if it's white's turn, and false if it's black's turn.
+     */
+    public boolean isWhiteTurn(){
+        return isWhiteTurn;
+    }
+
+    /**
+     * Sets the player to move, updating the hash.
+     *
+     * @param whiteTurn If true, it'll be white's turn; if false, it'll be black's turn.
+     */
+    public void setWhiteTurn(boolean whiteTurn){
+        if(whiteTurn != isWhiteTurn)
+            hash ^= Zobrist.sideKey();
+        isWhiteTurn = whiteTurn;
+    }
+
+    /**
+     * Verifies if a square is attacked by any piece of a player color.
+     * Works outward from the square: leaper attacks are looked up in the precomputed tables, and sliding attackers are
+     * found by computing Rook and Bishop attacks from the square itself.
+     *
+     * @param square  Integer from 0 to 63 with the position.
+     * @param byColor Integer representing the attacking player color (WHITE or BLACK).
+     * @return True if the square is attacked by the given player, false if it isn't.
+     */
+    public boolean isSquareAttacked(int square, int byColor){
+        return isSquareAttacked(square, byColor, getOccupied());
+    }
+
+    /**
+     * Verifies if a square is attacked by any piece of a player color, with the given squares blocking sliding attacks.
+     *
+     * @param square   Integer from 0 to 63 with the position.
+     * @param byColor  Integer representing the attacking player color (WHITE or BLACK).
+     * @param occupied Bitboard with the squares that block sliding attacks.
+     * @return True if the square is attacked by the given player, false if it isn't.
+     */
+    private boolean isSquareAttacked(int square, int byColor, long occupied){
+        long attackers = colorBitboards[byColor];
+
+        if((AttackTables.knightAttacks(square) & pieceBitboards[KNIGHT] & attackers) != 0)
+            return true;
+        if((AttackTables.kingAttacks(square) & pieceBitboards[KING] & attackers) != 0)
+            return true;
+        if((AttackTables.pawnAttacks(square, byColor ^ 1) & pieceBitboards[PAWN] & attackers) != 0)
+            return true;
+
+        long straightSliders = (pieceBitboards[ROOK] | pieceBitboards[QUEEN]) & attackers;
+        long diagonalSliders = (pieceBitboards[BISHOP] | pieceBitboards[QUEEN]) & attackers;
+
+        return (straightSliders != 0 && (AttackTables.rookAttacks(square, occupied) & straightSliders) != 0)
+                || (diagonalSliders != 0 && (AttackTables.bishopAttacks(square, occupied) & diagonalSliders) != 0);
+    }
+
+    /**
+     * Verifies if the King of a player color is in check.
+     *
+     * @param color Integer representing the player color (WHITE or BLACK).
+     * @return True if the King of the given player is attacked, false if it isn't (or if there is no King).
+     */
+    public boolean isInCheck(int color){
+        int kingSquare = kingSquares[color];
+        if(kingSquare < 0)
+            return false;
+        return isSquareAttacked(kingSquare, color ^ 1);
     }
 
     /**
@@ -98,12 +322,307 @@ public class Board{
      * @param from      Integer vector with the current position of the piece.
      * @param to        Integer vector with the new position of the piece.
      * @param gamePanel Reference of the GamePanel.
+     * @return Integer representing the move that was made (see {@link Move}), including the promotion chosen.
+     */
+    public int movePiece(int[] from, int[] to, GamePanel gamePanel){
+        int fromSquare = VectorPosition.convertVectorToSquare(from);
+        int toSquare = VectorPosition.convertVectorToSquare(to);
+
+        ChessPiece piece = squares[fromSquare];
+        ChessPiece promoted = checkPromotion(piece, to, gamePanel);
+        int move = Move.of(fromSquare, toSquare, piece.type, getPieceType(toSquare), promoted != piece? promoted.type : -1, Move.NONE);
+        makeMove(fromSquare, toSquare, promoted != piece? promoted : null);
+        return move;
+    }
+
+    /**
+     * Makes a move in place, so it can be reverted with {@link #unmakeMove(UndoInfo)}. The turn passes to the other player.
+     *
+     * @param move Integer representing a move (see {@link Move}).
+     * @return The information needed to revert the move.
+     */
+    public UndoInfo makeMove(int move){
+        int promotionType = Move.getPromotionType(move);
+        ChessPiece promotion = null;
+        if(promotionType >= 0)
+            promotion = createPiece(promotionType, squares[Move.getFrom(move)].getPlayer());
+        return makeMove(Move.getFrom(move), Move.getTo(move), promotion);
+    }
+
+    /**
+     * Makes a move in place, so it can be reverted with {@link #unmakeMove(UndoInfo)}. The turn passes to the other player.
+     *
+     * @param from Integer from 0 to 63 with the current position of the piece.
+     * @param to   Integer from 0 to 63 with the new position of the piece.
+     * @return The information needed to revert the move.
+     */
+    public UndoInfo makeMove(int from, int to){
+        return makeMove(from, to, null);
+    }
+
+    /**
+     * Makes a move in place, so it can be reverted with {@link #unmakeMove(UndoInfo)}. The turn passes to the other player.
+     *
+     * @param from      Integer from 0 to 63 with the current position of the piece.
+     * @param to        Integer from 0 to 63 with the new position of the piece.
+     * @param promotion The piece that replaces the moved piece in its new position, or null if there is no promotion.
+     * @return The information needed to revert the move.
+     */
+    public UndoInfo makeMove(int from, int to, ChessPiece promotion){
+        ChessPiece moved = removePiece(from);
+        ChessPiece captured = removePiece(to);
+        putPiece(to, promotion != null? promotion : moved);
+        setWhiteTurn(!isWhiteTurn);
+        notifyListener((1L << from) | (1L << to));
+        return new UndoInfo(from, to, moved, captured, promotion);
+    }
+
+    /**
+     * Reverts a move made with {@link #makeMove(int, int, ChessPiece)}, restoring the captured piece and the piece
+     * that was promoted. Moves must be reverted in the reverse order that they were made.
+     *
+     * @param undo The information returned when the move was made.
+     */
+    public void unmakeMove(UndoInfo undo){
+        removePiece(undo.getTo());
+        putPiece(undo.getFrom(), undo.getMovedPiece());
+        putPiece(undo.getTo(), undo.getCapturedPiece());
+        setWhiteTurn(!isWhiteTurn);
+        notifyListener((1L << undo.getFrom()) | (1L << undo.getTo()));
+    }
+
+    /**
+     * Sets the listener notified when the pieces on this board change. Clones of this board don't keep it.
+     *
+     * @param listener The BoardListener to be notified, or null to remove it.
+     */
+    public void setBoardListener(BoardListener listener){
+        this.listener = listener;
+    }
+
+    /**
+     * Notifies the listener, if there is one, that the pieces on some squares changed.
+     *
+     * @param squares Bitboard with the changed squares.
+     */
+    private void notifyListener(long squares){
+        if(listener != null)
+            listener.squaresChanged(squares);
+    }
+
+    /**
+     * Places a piece in a board position, updating the mailbox and the bitboards.
+     *
+     * @param position String with the position.
+     * @param piece    The piece to be placed.
+     */
+    private void putPiece(String position, ChessPiece piece){
+        putPiece(VectorPosition.convertStringToSquare(position), piece);
+    }
+
+    /**
+     * Places a piece in an empty board position, updating the mailbox, the bitboards and the piece lists.
+     *
+     * @param square Integer from 0 to 63 with the position.
+     * @param piece  The piece to be placed, or null.
+     */
+    private void putPiece(int square, ChessPiece piece){
+        if(piece == null)
+            return;
+        long bit = 1L << square;
+        int type = piece.type;
+        int color = piece.color;
+        squares[square] = piece;
+        codes[square] = piece.code;
+        piece.square = square;
+        listIndexes[square] = pieceCounts[color];
+        pieceLists[color][pieceCounts[color]++] = square;
+        if(type == KING)
+            kingSquares[color] = square;
+        pieceBitboards[type] |= bit;
+        colorBitboards[color] |= bit;
+        hash ^= Zobrist.pieceKey(color, type, square);
+    }
+
+    /**
+     * Removes the piece in a board position, updating the mailbox, the bitboards and the piece lists.
+     * The last piece of the player's list takes the place of the removed one.
+     *
+     * @param square Integer from 0 to 63 with the position.
+     * @return The removed piece, or null if the square was empty.
+     */
+    private ChessPiece removePiece(int square){
+        ChessPiece piece = squares[square];
+        if(piece == null)
+            return null;
+        long bit = ~(1L << square);
+        int type = piece.type;
+        int color = piece.color;
+        squares[square] = null;
+        codes[square] = PieceCode.EMPTY;
+        int last = pieceLists[color][--pieceCounts[color]];
+        pieceLists[color][listIndexes[square]] = last;
+        listIndexes[last] = listIndexes[square];
+        if(type == KING)
+            kingSquares[color] = -1;
+        piece.square = -1;
+        pieceBitboards[type] &= bit;
+        colorBitboards[color] &= bit;
+        hash ^= Zobrist.pieceKey(color, type, square);
+        return piece;
+    }
+
+    /**
+     * Adds the moves of all pieces of a player color to a list, without verifying if they leave the king in check.
+     *
+     * @param color Integer representing the player color (WHITE or BLACK).
+     * @param moves MoveList where the moves are added.
+     */
+    public void generateMoves(int color, MoveList moves){
+        long pieces = colorBitboards[color];
+        while(pieces != 0){
+            squares[Long.numberOfTrailingZeros(pieces)].generateMoves(this, moves);
+            pieces &= pieces - 1;
+        }
+    }
+
+    /**
+     * Adds the moves of all pieces of a player color that don't result in their king being killed in the next turn to a list.
+     *
+     * @param color Integer representing the player color (WHITE or BLACK).
+     * @param moves MoveList where the moves are added.
+     */
+    public void generateLegalMoves(int color, MoveList moves){
+        generateLegalMoves(color, colorBitboards[color], moves);
+    }
+
+    /**
+     * Adds the moves of a piece that don't result in its king being killed in the next turn to a list.
+     *
+     * @param piece A ChessPiece on this board.
+     * @param moves MoveList where the moves are added.
+     */
+    public void generateLegalMoves(ChessPiece piece, MoveList moves){
+        int square = getSquare(piece);
+        if(square >= 0)
+            generateLegalMoves(piece.color, 1L << square, moves);
+    }
+
+    /**
+     * Adds the legal moves of the given pieces of a player color to a list.
+     * The checking pieces and the pinned pieces are found once; then, when in check, only moves that capture the checking
+     * piece or block its ray are kept (or only King moves, in a double check), pinned pieces are kept on their pin ray,
+     * and the King is kept out of attacked squares. No move is tried on the board.
+     *
+     * @param color  Integer representing the player color (WHITE or BLACK).
+     * @param pieces Bitboard with the squares of the pieces whose moves are added.
+     * @param moves  MoveList where the moves are added.
+     */
+    private void generateLegalMoves(int color, long pieces, MoveList moves){
+        int kingSquare = kingSquares[color];
+        if(kingSquare < 0){
+            while(pieces != 0){
+                squares[Long.numberOfTrailingZeros(pieces)].generateMoves(this, moves);
+                pieces &= pieces - 1;
+            }
+            return;
+        }
+
+        long checkMask = findChecksAndPins(kingSquare, color);
+
+        while(pieces != 0){
+            int square = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+
+            int start = moves.size();
+            squares[square].generateMoves(this, moves);
+
+            if(square == kingSquare)
+                keepSafeKingMoves(moves, start, kingSquare, color);
+            else if(checkMask != -1L || (pinnedPieces & (1L << square)) != 0){
+                long allowed = checkMask;
+                if((pinnedPieces & (1L << square)) != 0)
+                    allowed &= pinRays[square];
+                keepMovesTo(moves, start, allowed);
+            }
+        }
+    }
+
+    /**
+     * Looks up the first two pieces on each ray from a King to find the sliding pieces that check it and the pieces
+     * pinned to it, and looks up the Knights and Pawns that check it. The pinned pieces and their rays are kept in pinnedPieces and pinRays.
+     *
+     * @param kingSquare Integer from 0 to 63 with the position of the King.
+     * @param color      Integer representing the color of the King (WHITE or BLACK).
+     * @return Bitboard with the squares a piece other than the King must move to in order to stop the check: the
+     * checking piece and the squares between it and the King. All squares if there is no check, none if there is a double check.
+     */
+    private long findChecksAndPins(int kingSquare, int color){
+        long enemies = colorBitboards[color ^ 1];
+        long checkers = (AttackTables.knightAttacks(kingSquare) & pieceBitboards[KNIGHT] & enemies)
+                | (AttackTables.pawnAttacks(kingSquare, color) & pieceBitboards[PAWN] & enemies);
+        long checkMask = checkers;
+        int checkCount = Long.bitCount(checkers);
+
+        pinnedPieces = 0;
+        long occupied = getOccupied();
+        for(int direction = 0; direction < 8; direction++){
+            int first = AttackTables.firstBlocker(direction, kingSquare, occupied);
+            if(first < 0)
+                continue;
+
+            long sliders = (pieceBitboards[direction < 4? ROOK : BISHOP] | pieceBitboards[QUEEN]) & enemies;
+            long ray = AttackTables.ray(direction, kingSquare);
+            if((sliders & (1L << first)) != 0){
+                checkMask |= ray ^ AttackTables.ray(direction, first);
+                checkCount++;
+            }else if(PieceCode.getColor(codes[first]) == color){
+                int second = AttackTables.firstBlocker(direction, first, occupied);
+                if(second >= 0 && (sliders & (1L << second)) != 0){
+                    pinnedPieces |= 1L << first;
+                    pinRays[first] = ray ^ AttackTables.ray(direction, second);
+                }
+            }
+        }
+
+        if(checkCount == 0)
+            return -1L;
+        if(checkCount > 1)
+            return 0;
+        return checkMask;
+    }
+
+    /**
+     * Removes from a list the King moves to squares attacked by the enemy. The King is taken off the board for the
+     * verification, so it can't hide behind itself from a sliding piece that checks it.
+     *
+     * @param moves      MoveList with the moves to be verified.
+     * @param start      Integer with the index of the first move to be verified.
+     * @param kingSquare Integer from 0 to 63 with the position of the King.
+     * @param color      Integer representing the color of the King (WHITE or BLACK).
      */
-    public void movePiece(int[] from, int[] to, GamePanel gamePanel){
-        ChessPiece piece = board.get(VectorPosition.convertVectorToStringPosition(from));
-        piece = checkPromotion(piece, to, gamePanel);
-        board.remove(VectorPosition.convertVectorToStringPosition(from));
-        board.put(VectorPosition.convertVectorToStringPosition(to), piece);
+    private void keepSafeKingMoves(MoveList moves, int start, int kingSquare, int color){
+        long occupied = getOccupied() & ~(1L << kingSquare);
+        int safeMoves = start;
+        for(int i = start; i < moves.size(); i++)
+            if(!isSquareAttacked(Move.getTo(moves.get(i)), color ^ 1, occupied))
+                moves.set(safeMoves++, moves.get(i));
+        moves.setSize(safeMoves);
+    }
+
+    /**
+     * Removes from a list the moves whose new position isn't one of the allowed squares.
+     *
+     * @param moves   MoveList with the moves to be verified.
+     * @param start   Integer with the index of the first move to be verified.
+     * @param allowed Bitboard with the allowed squares.
+     */
+    private void keepMovesTo(MoveList moves, int start, long allowed){
+        int allowedMoves = start;
+        for(int i = start; i < moves.size(); i++)
+            if((allowed & (1L << Move.getTo(moves.get(i)))) != 0)
+                moves.set(allowedMoves++, moves.get(i));
+        moves.setSize(allowedMoves);
     }
 
     /**
@@ -113,16 +632,22 @@ public class Board{
      * @return Integer vector with the position of the given piece, or null if the piece is not on the board or does not exist.
      */
     public int[] getPosition(ChessPiece piece){
-        if(piece == null)
+        int square = getSquare(piece);
+        if(square < 0)
             return null;
-        for(int i = 0; i < 8; i++)
-            for(int k = 0; k < 8; k++){
-                String checkingPiece = VectorPosition.convertVectorToStringPosition(new int[]{i, k});
-                if(board.containsKey(checkingPiece) && board.get(checkingPiece) != null)
-                    if(board.get(checkingPiece).equals(piece))
-                        return new int[]{i, k};
-            }
-        return null;
+        return VectorPosition.convertSquareToVector(square);
+    }
+
+    /**
+     * Gets the square index of a given piece.
+     *
+     * @param piece A ChessPiece.
+     * @return Integer from 0 to 63 with the position of the given piece, or -1 if the piece is not on the board or does not exist.
+     */
+    public int getSquare(ChessPiece piece){
+        if(piece == null || piece.square < 0 || squares[piece.square] != piece)
+            return -1;
+        return piece.square;
     }
 
     /**
@@ -132,14 +657,10 @@ public class Board{
      * @return ArrayList of ChessPiece with all pieces of the given player color.
      */
     public ArrayList<ChessPiece> getPiecesByColor(String color){
-        ArrayList<ChessPiece> pieces = new ArrayList<>();
-        for(int i = 0; i < 8; i++)
-            for(int k = 0; k < 8; k++){
-                ChessPiece piece = board.get(VectorPosition.convertVectorToStringPosition(new int[]{i, k}));
-                if(piece != null)
-                    if(piece.getPlayer().getColor().equals(color))
-                        pieces.add(piece);
-            }
+        int colorIndex = colorIndex(color);
+        ArrayList<ChessPiece> pieces = new ArrayList<>(pieceCounts[colorIndex]);
+        for(int i = 0; i < pieceCounts[colorIndex]; i++)
+            pieces.add(squares[pieceLists[colorIndex][i]]);
         return pieces;
     }
 
@@ -150,31 +671,32 @@ public class Board{
      * @return King of the specified player color.
      */
     public King getMyKing(String color){
-        for(int i = 0; i < 8; i++)
-            for(int k = 0; k < 8; k++){
-                ChessPiece piece = board.get(VectorPosition.convertVectorToStringPosition(new int[]{i, k}));
-                if(piece != null)
-                    if(piece.getPlayer().getColor().equals(color) && piece instanceof King)
-                        return (King) piece;
-            }
-        return null;
+        int kingSquare = kingSquares[colorIndex(color)];
+        if(kingSquare < 0)
+            return null;
+        return (King) squares[kingSquare];
     }
 
     /**
-     * Clones the current board, creating a copy of it.
+     * Clones the current board, creating a copy of it. The pieces are copied as well, so moves made on the clone
+     * don't change the positions of the pieces of this board.
      *
      * @return A clone (copy) of the current board.
      */
     public Board cloneBoard(){
         Board clonedBoard = new Board(false);
-
-        for(int i = 0; i < 8; i++)
-            for(int k = 0; k < 8; k++){
-                int[] position = new int[]{i, k};
-                ChessPiece piece = this.getPiece(position);
-                if(piece != null)
-                    clonedBoard.board.put(VectorPosition.convertVectorToStringPosition(position), piece);
-            }
+        for(int square = 0; square < 64; square++)
+            if(squares[square] != null)
+                clonedBoard.squares[square] = squares[square].copy();
+        clonedBoard.codes = codes.clone();
+        clonedBoard.pieceLists = new int[][]{pieceLists[WHITE].clone(), pieceLists[BLACK].clone()};
+        clonedBoard.pieceCounts = pieceCounts.clone();
+        clonedBoard.listIndexes = listIndexes.clone();
+        clonedBoard.kingSquares = kingSquares.clone();
+        clonedBoard.pieceBitboards = pieceBitboards.clone();
+        clonedBoard.colorBitboards = colorBitboards.clone();
+        clonedBoard.hash = hash;
+        clonedBoard.isWhiteTurn = isWhiteTurn;
         return clonedBoard;
     }
 
@@ -185,16 +707,9 @@ public class Board{
      * @return True if the King of the current player is in checkmate, false if it isn't.
      */
     public boolean checkMate(boolean isWhiteTurn){
-        String color;
-        if(isWhiteTurn)
-            color = "white";
-        else color = "black";
-
-        ArrayList<ChessPiece> pieces = getPiecesByColor(color);
-        for(ChessPiece piece : pieces)
-            if(piece.getPossibleMoves(this, true) != null)
-                return false;
-        return true;
+        scratchMoves.clear();
+        generateLegalMoves(isWhiteTurn? WHITE : BLACK, scratchMoves);
+        return scratchMoves.size() == 0;
     }
 
     /**
@@ -206,9 +721,8 @@ public class Board{
      * @return The new ChessPiece, or the given piece (if it can't be promoted).
      */
     public ChessPiece checkPromotion(ChessPiece piece, int[] to, GamePanel gamePanel){
-        if(piece instanceof Pawn && gamePanel != null){
-            int[] originalPos = VectorPosition.convertStringToVector(((Pawn) piece).originalPosition);
-            if((originalPos[0] == 1 && to[0] == 7) || (originalPos[0] == 6 && to[0] == 0))
+        if(piece.type == PAWN && gamePanel != null){
+            if((piece.color == BLACK && to[0] == 7) || (piece.color == WHITE && to[0] == 0))
                 return promote(piece, gamePanel);
         }
         return piece;
@@ -222,29 +736,64 @@ public class Board{
      * @return The new ChessPiece that the Pawn was promoted to.
      */
     private ChessPiece promote(ChessPiece piece, GamePanel gamePanel){
+        Player player = gamePanel.isWhiteTurn()? white : black;
         return switch(gamePanel.showImageSelectionOverlay()){
-            case "q" -> new Queen(gamePanel.isWhiteTurn()? white : black);
-            case "b" -> new Bishop(gamePanel.isWhiteTurn()? white : black);
-            case "r" -> new Rook(gamePanel.isWhiteTurn()? white : black);
-            case "n" -> new Knight(gamePanel.isWhiteTurn()? white : black);
+            case "q" -> createPiece(QUEEN, player);
+            case "b" -> createPiece(BISHOP, player);
+            case "r" -> createPiece(ROOK, player);
+            case "n" -> createPiece(KNIGHT, player);
             case null, default -> piece;
         };
     }
 
+    /**
+     * Creates a piece that a Pawn can be promoted to.
+     *
+     * @param type   Integer representing the piece type (KNIGHT, BISHOP, ROOK or QUEEN).
+     * @param player The player to which the piece belongs to.
+     * @return The new ChessPiece.
+     */
+    private ChessPiece createPiece(int type, Player player){
+        return switch(type){
+            case KNIGHT -> new Knight(player);
+            case BISHOP -> new Bishop(player);
+            case ROOK -> new Rook(player);
+            default -> new Queen(player);
+        };
+    }
+
     /**
      * Converts the board state to a String.
      *
      * @return String representing the current board state.
      */
     public String boardToString(){
-        String boardString = "";
-        for(int i = 0; i < 8; i++)
-            for(int k = 0; k < 8; k++){
-                String position = VectorPosition.convertVectorToStringPosition(new int[]{i, k});
-                ChessPiece piece = board.get(position);
-                boardString += position + pieceToString(piece) + "\n";
-            }
-        return boardString;
+        StringBuilder boardString = new StringBuilder(64 * 7);
+        for(int square = 0; square < 64; square++)
+            boardString.append(VectorPosition.convertSquareToStringPosition(square)).append(pieceToString(squares[square])).append('\n');
+        return boardString.toString();
+    }
+
+    /**
+     * Converts the board state to the piece code of each square.
+     *
+     * @return Byte vector with the piece code of each of the 64 squares (see {@link PieceCode}).
+     */
+    public byte[] boardToCodes(){
+        return codes.clone();
+    }
+
+    /**
+     * Loads the board state written as the piece code of each square. The player to move is kept, and the hash is rebuilt.
+     *
+     * @param pieceCodes Byte vector with the piece code of each of the 64 squares (see {@link PieceCode}).
+     */
+    public void codesToBoard(byte[] pieceCodes){
+        clear();
+        for(int square = 0; square < 64; square++)
+            if(pieceCodes[square] != PieceCode.EMPTY)
+                putPiece(square, codeToPiece(pieceCodes[square], square));
+        notifyListener(-1L);
     }
 
     /**
@@ -254,33 +803,179 @@ public class Board{
      * @return String representing the given piece.
      */
     private String pieceToString(ChessPiece piece){
-        String pieceString = "";
-        if(piece != null)
-            if(piece.getPlayer().getColor().equals("white"))
-                pieceString = "w";
-            else pieceString = "b";
-
-        switch(piece){
-            case Bishop bishop -> pieceString += "b  ";
-            case King king -> pieceString += "k  ";
-            case Knight knight -> pieceString += "n  ";
-            case Pawn pawn -> pieceString += "p" + pawn.originalPosition;
-            case Queen queen -> pieceString += "q  ";
-            case Rook rook -> pieceString += "r  ";
-            case null, default -> pieceString = "    ";
-        }
-        return pieceString;
+        if(piece == null)
+            return "    ";
+
+        String pieceString = piece.color == WHITE? "w" : "b";
+        if(piece.type == PAWN)
+            return pieceString + "p" + ((Pawn) piece).getOriginalPosition();
+        return pieceString + "pnbrqk".charAt(piece.type) + "  ";
     }
 
     /**
-     * Loads the board state written as a String.
+     * Loads the board state written as a String. The player to move is kept, and the hash is rebuilt.
      *
      * @param boardString String representing a board state.
      */
     public void stringToBoard(String boardString){
-        board = new HashMap<>();
+        clear();
         for(String s : boardString.split("\n"))
-            board.put(s.substring(0, 2), stringToPiece(s.substring(2)));
+            putPiece(s.substring(0, 2), stringToPiece(s.substring(2)));
+        notifyListener(-1L);
+    }
+
+    /**
+     * Creates a board with a position written in Forsyth-Edwards Notation (FEN).
+     *
+     * @param fen CharSequence with the position in FEN (see {@link #fenToBoard(CharSequence)}).
+     * @return A Board with the pieces and the player to move of the position.
+     * @throws IllegalArgumentException If the text isn't a valid FEN position.
+     */
+    public static Board fromFen(CharSequence fen){
+        Board board = new Board(false);
+        board.fenToBoard(fen);
+        return board;
+    }
+
+    /**
+     * Loads a position written in Forsyth-Edwards Notation (FEN), reading the text once without copying it.
+     * The piece placement and the player to move are read; the player to move defaults to white if it's missing.
+     * Castling, en passant and the move counters aren't kept by the board, so the remaining fields are ignored.
+     *
+     * @param fen CharSequence with the position in FEN, such as "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1".
+     * @throws IllegalArgumentException If the text isn't a valid FEN position. The board is then left empty.
+     */
+    public void fenToBoard(CharSequence fen){
+        clear();
+        int length = fen.length();
+        int i = 0;
+        while(i < length && fen.charAt(i) == ' ')
+            i++;
+
+        int square = 0;
+        int col = 0;
+        for(; i < length && fen.charAt(i) != ' '; i++){
+            char c = fen.charAt(i);
+            if(c == '/'){
+                if(col != 8 || square == 64)
+                    throw invalidFen(fen, i);
+                col = 0;
+            }else if(c >= '1' && c <= '8'){
+                col += c - '0';
+                square += c - '0';
+                if(col > 8)
+                    throw invalidFen(fen, i);
+            }else{
+                int index = FEN_PIECES.indexOf(c);
+                if(index < 0 || col == 8)
+                    throw invalidFen(fen, i);
+                putPiece(square, codeToPiece(PieceCode.of(index % 6, index < 6? BLACK : WHITE), square));
+                square++;
+                col++;
+            }
+        }
+        if(square != 64 || col != 8)
+            throw invalidFen(fen, i);
+
+        while(i < length && fen.charAt(i) == ' ')
+            i++;
+        boolean whiteTurn = true;
+        if(i < length){
+            char side = fen.charAt(i++);
+            if((side != 'w' && side != 'b') || (i < length && fen.charAt(i) != ' '))
+                throw invalidFen(fen, i - 1);
+            whiteTurn = side == 'w';
+        }
+        setWhiteTurn(whiteTurn);
+        notifyListener(-1L);
+    }
+
+    /**
+     * Empties the board and creates the exception thrown for an invalid FEN position.
+     *
+     * @param fen   CharSequence with the invalid position.
+     * @param index Integer with the index of the first invalid character.
+     * @return IllegalArgumentException describing the error.
+     */
+    private IllegalArgumentException invalidFen(CharSequence fen, int index){
+        clear();
+        notifyListener(-1L);
+        return new IllegalArgumentException("Invalid FEN at index " + index + ": " + fen);
+    }
+
+    /**
+     * Writes the board state in Forsyth-Edwards Notation (FEN). As the board doesn't keep castling rights, en passant
+     * squares or move counters, these fields are written as "- - 0 1".
+     *
+     * @param out Appendable where the position is written.
+     * @throws IOException If the Appendable can't be written.
+     */
+    public void toFen(Appendable out) throws IOException{
+        for(int row = 0; row < 8; row++){
+            if(row > 0)
+                out.append('/');
+            int empty = 0;
+            for(int col = 0; col < 8; col++){
+                byte code = codes[(row << 3) | col];
+                if(code == PieceCode.EMPTY){
+                    empty++;
+                    continue;
+                }
+                if(empty > 0){
+                    out.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                out.append(FEN_PIECES.charAt(PieceCode.getType(code) + (PieceCode.getColor(code) == WHITE? 6 : 0)));
+            }
+            if(empty > 0)
+                out.append((char) ('0' + empty));
+        }
+        out.append(isWhiteTurn? " w - - 0 1" : " b - - 0 1");
+    }
+
+    /**
+     * Converts the board state to Forsyth-Edwards Notation (FEN).
+     *
+     * @return String with the position in FEN (see {@link #toFen(Appendable)}).
+     */
+    public String toFen(){
+        StringBuilder fen = new StringBuilder(90);
+        try{
+            toFen(fen);
+        }catch(IOException e){
+            throw new AssertionError(e);
+        }
+        return fen.toString();
+    }
+
+    /**
+     * Removes all pieces from the board, keeping the player to move, and resets the hash accordingly.
+     */
+    private void clear(){
+        squares = new ChessPiece[64];
+        codes = new byte[64];
+        pieceCounts = new int[2];
+        kingSquares = new int[]{-1, -1};
+        pieceBitboards = new long[6];
+        colorBitboards = new long[2];
+        hash = isWhiteTurn? 0 : Zobrist.sideKey();
+    }
+
+    /**
+     * Converts a piece code to a ChessPiece.
+     *
+     * @param code   Byte representing a piece (see {@link PieceCode}).
+     * @param square Integer from 0 to 63 with the position of the piece.
+     * @return ChessPiece equivalent to the given code.
+     */
+    private ChessPiece codeToPiece(byte code, int square){
+        int color = PieceCode.getColor(code);
+        Player player = color == WHITE? white : black;
+        return switch(PieceCode.getType(code)){
+            case PAWN -> new Pawn(player);
+            case KING -> new King(player);
+            default -> createPiece(PieceCode.getType(code), player);
+        };
     }
 
     /**
@@ -307,4 +1002,14 @@ public class Board{
         };
         return piece;
     }
+
+    /**
+     * Converts a player color to its index.
+     *
+     * @param color String representing the player color ("white" or "black").
+     * @return Integer representing the player color (WHITE or BLACK).
+     */
+    private static int colorIndex(String color){
+        return color.equals("white")? WHITE : BLACK;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package Logic;
+
+/**
+ * Listener notified when the pieces on a Board change, so a view can refresh only the affected squares.
+ */
+public interface BoardListener{
+    /**
+     * Called after pieces were placed on or removed from some squares of the board.
+     * For a move these are its previous and new positions, which also cover captures and promotions.
+     *
+     * @param squares Bitboard with one bit set for each square whose piece changed, or all bits set if the whole board was replaced.
+     */
+    void squaresChanged(long squares);
+}
\ No newline at end of file
@@ -1,22 +1,28 @@
 package Logic;
 
-import javax.swing.*;
 import java.util.ArrayList;
 
 /**
  * Abstract class that sets common behaviours to all chess pieces.
  */
-public abstract class ChessPiece{
+public abstract class ChessPiece implements Cloneable{
     private final Player player;
-    protected ImageIcon image;
+    final int type;
+    final int color;
+    final byte code;
+    int square = -1;
 
     /**
      * Instantiates a piece.
      *
      * @param player The player to which the piece belongs to.
+     * @param type   Integer representing the type of the piece (Board.PAWN, Board.KNIGHT, Board.BISHOP, Board.ROOK, Board.QUEEN or Board.KING).
      */
-    public ChessPiece(Player player){
+    public ChessPiece(Player player, int type){
         this.player = player;
+        this.type = type;
+        this.color = player.getColorIndex();
+        this.code = PieceCode.of(type, color);
     }
 
     /**
@@ -29,49 +35,101 @@ public abstract class ChessPiece{
     }
 
     /**
-     * Getst the icon of a piece.
+     * Gets the type of this piece.
      *
-     * @return ImageIcon of this piece.
+     * @return Integer representing the type of this piece (Board.PAWN, Board.KNIGHT, Board.BISHOP, Board.ROOK, Board.QUEEN or Board.KING).
      */
-    public ImageIcon getImage(){
-        return image;
+    public int getType(){
+        return type;
     }
 
     /**
-     * Abstract method that gets the possible moves of a piece.
+     * Gets the color of the player that owns this piece.
      *
-     * @param board Reference of the logical board.
-     * @param ind   If true, only return moves that don't result in the king being killed in the next turn.
-     * @return ArrayList of Strings with the possible moves for the piece, according to the board state.
+     * @return Integer representing the color of this piece (Board.WHITE or Board.BLACK).
      */
-    public abstract ArrayList<String> getPossibleMoves(Board board, boolean ind);
+    public int getColor(){
+        return color;
+    }
 
     /**
-     * Gets the moves that don't result in the king being killed in the next turn.
+     * Gets the square this piece is placed on, kept up to date by the board that holds it.
      *
-     * @param board    Reference of the logical board.
-     * @param allMoves ArrayList of Strings containing all possible moves of this piece.
-     * @return ArrayList of Strings containing all moves that don't result in the king being killed in the next turn.
+     * @return Integer from 0 to 63 with the position of this piece, or -1 if it isn't on a board.
      */
-    public ArrayList<String> getSafeCheckMoves(Board board, ArrayList<String> allMoves){
-        ArrayList<String> safeMoves = new ArrayList<>();
+    public int getSquare(){
+        return square;
+    }
 
-        String myColor = this.player.getColor();
+    /**
+     * Creates a copy of this piece, so it can be placed on another board without sharing its position.
+     *
+     * @return A copy of this piece.
+     */
+    protected ChessPiece copy(){
+        try{
+            return (ChessPiece) super.clone();
+        }catch(CloneNotSupportedException e){
+            throw new AssertionError(e);
+        }
+    }
 
-        for(String move : allMoves){
-            if(move != null){
-                Board tempBoard = board.cloneBoard();
+    /**
+     * Abstract method that adds the moves of a piece to a list, without verifying if they leave the king in check.
+     *
+     * @param board Reference of the logical board.
+     * @param moves MoveList where the moves are added.
+     */
+    public abstract void generateMoves(Board board, MoveList moves);
 
-                tempBoard.movePiece(tempBoard.getPosition(this), VectorPosition.convertStringToVector(move), null);
+    /**
+     * Adds the moves of a piece that don't result in the king being killed in the next turn to a list.
+     *
+     * @param board Reference of the logical board.
+     * @param moves MoveList where the moves are added.
+     */
+    public void generateLegalMoves(Board board, MoveList moves){
+        board.generateLegalMoves(this, moves);
+    }
 
-                King tempKing = tempBoard.getMyKing(myColor);
+    /**
+     * Gets the possible moves of a piece as Strings, as used by the GUI.
+     *
+     * @param board Reference of the logical board.
+     * @param ind   If true, only return moves that don't result in the king being killed in the next turn.
+     * @return ArrayList of Strings with the possible moves for the piece, according to the board state. If ind is true and there are no moves, returns null.
+     */
+    public ArrayList<String> getPossibleMoves(Board board, boolean ind){
+        MoveList moves = new MoveList();
+        if(ind)
+            generateLegalMoves(board, moves);
+        else generateMoves(board, moves);
 
-                if(tempKing.isInCheck(tempBoard) == null)
-                    safeMoves.add(move);
-            }
+        ArrayList<String> possibleMoves = new ArrayList<>();
+        for(int i = 0; i < moves.size(); i++){
+            String to = VectorPosition.convertSquareToStringPosition(Move.getTo(moves.get(i)));
+            if(!possibleMoves.contains(to))
+                possibleMoves.add(to);
         }
-        if(safeMoves.isEmpty())
+        if(ind && possibleMoves.isEmpty())
             return null;
-        return safeMoves;
+        return possibleMoves;
+    }
+
+    /**
+     * Adds a move from this piece's square to each square of an attack mask, except those occupied by pieces of the same player.
+     *
+     * @param board   Reference of the logical board.
+     * @param moves   MoveList where the moves are added.
+     * @param type    Integer representing the type of this piece.
+     * @param attacks Bitboard with the squares attacked by this piece.
+     */
+    protected void addAttackMoves(Board board, MoveList moves, int type, long attacks){
+        long targets = attacks & ~board.getColorBitboard(color);
+        while(targets != 0){
+            int to = Long.numberOfTrailingZeros(targets);
+            moves.add(Move.of(square, to, type, board.getPieceType(to), -1, Move.NONE));
+            targets &= targets - 1;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package Logic;
+
+import java.util.Arrays;
+
+/**
+ * Record of a game: the position it started from, each move made, packed as an integer (see {@link Move}), the
+ * remaining time of both players after each move, and the result.
+ */
+public class GameRecord{
+    public static final String WHITE_WINS = "1-0";
+    public static final String BLACK_WINS = "0-1";
+    public static final String DRAW = "1/2-1/2";
+    public static final String UNFINISHED = "*";
+
+    private final String startFen;
+    private int[] moves = new int[128];
+    private int[] whiteTimes = new int[128];
+    private int[] blackTimes = new int[128];
+    private int size;
+    private String result = UNFINISHED;
+
+    /**
+     * Instantiates an empty record of a game started from the default starting position.
+     */
+    public GameRecord(){
+        this(null);
+    }
+
+    /**
+     * Instantiates an empty record of a game started from a given position.
+     *
+     * @param startFen String with the starting position in FEN (see {@link Board#fenToBoard(CharSequence)}), or null
+     *                 for the default starting position.
+     */
+    public GameRecord(String startFen){
+        this.startFen = startFen;
+    }
+
+    /**
+     * Adds a move to the end of the record.
+     *
+     * @param move               Integer representing the move.
+     * @param whiteTimeRemaining Integer with white's remaining time in seconds after the move, or -1 if unknown.
+     * @param blackTimeRemaining Integer with black's remaining time in seconds after the move, or -1 if unknown.
+     */
+    public void add(int move, int whiteTimeRemaining, int blackTimeRemaining){
+        if(size == moves.length){
+            moves = Arrays.copyOf(moves, size * 2);
+            whiteTimes = Arrays.copyOf(whiteTimes, size * 2);
+            blackTimes = Arrays.copyOf(blackTimes, size * 2);
+        }
+        moves[size] = move;
+        whiteTimes[size] = whiteTimeRemaining;
+        blackTimes[size++] = blackTimeRemaining;
+    }
+
+    /**
+     * Creates a copy of this record, so it can be read by another thread while moves are added to this one.
+     *
+     * @return A copy of this record.
+     */
+    public GameRecord copy(){
+        GameRecord copy = new GameRecord(startFen);
+        copy.moves = moves.clone();
+        copy.whiteTimes = whiteTimes.clone();
+        copy.blackTimes = blackTimes.clone();
+        copy.size = size;
+        copy.result = result;
+        return copy;
+    }
+
+    /**
+     * Gets the number of moves in the record.
+     *
+     * @return Integer with the number of moves.
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Gets a move of the record.
+     *
+     * @param index Integer with the index of the move, starting at 0 for the first move.
+     * @return Integer representing the move.
+     */
+    public int getMove(int index){
+        return moves[index];
+    }
+
+    /**
+     * Gets the remaining time of a player after a move.
+     *
+     * @param index Integer with the index of the move.
+     * @param color Integer representing the player color (Board.WHITE or Board.BLACK).
+     * @return Integer with the remaining time in seconds, or -1 if unknown.
+     */
+    public int getTimeRemaining(int index, int color){
+        return color == Board.WHITE? whiteTimes[index] : blackTimes[index];
+    }
+
+    /**
+     * Sets the remaining time of a player after a move.
+     *
+     * @param index         Integer with the index of the move.
+     * @param color         Integer representing the player color (Board.WHITE or Board.BLACK).
+     * @param timeRemaining Integer with the remaining time in seconds, or -1 if unknown.
+     */
+    public void setTimeRemaining(int index, int color, int timeRemaining){
+        if(color == Board.WHITE)
+            whiteTimes[index] = timeRemaining;
+        else blackTimes[index] = timeRemaining;
+    }
+
+    /**
+     * Gets the position the game started from.
+     *
+     * @return String with the starting position in FEN, or null for the default starting position.
+     */
+    public String getStartFen(){
+        return startFen;
+    }
+
+    /**
+     * Creates a board with the position the game started from.
+     *
+     * @return A Board with the starting position and its player to move.
+     */
+    public Board createStartBoard(){
+        return startFen == null? new Board(true) : Board.fromFen(startFen);
+    }
+
+    /**
+     * Creates a board with the position after the last move of the record.
+     *
+     * @return A Board with the current position of the game and its player to move.
+     */
+    public Board createBoard(){
+        Board board = createStartBoard();
+        for(int i = 0; i < size; i++)
+            board.makeMove(moves[i]);
+        return board;
+    }
+
+    /**
+     * Gets the result of the game.
+     *
+     * @return String with the result: WHITE_WINS, BLACK_WINS, DRAW or UNFINISHED.
+     */
+    public String getResult(){
+        return result;
+    }
+
+    /**
+     * Sets the result of the game.
+     *
+     * @param result String with the result: WHITE_WINS, BLACK_WINS, DRAW or UNFINISHED.
+     */
+    public void setResult(String result){
+        this.result = result;
+    }
+}
\ No newline at end of file
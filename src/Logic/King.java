@@ -1,12 +1,5 @@
 package Logic;
 
-import javax.swing.*;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Objects;
-
-import static Logic.VectorPosition.*;
-
 /**
  * Represents the piece King.
  */
@@ -17,51 +10,19 @@ public class King extends ChessPiece{
      * @param player The player to which the piece belongs to.
      */
     public King(Player player){
-        super(player);
-
-        if(player.getColor().equals("white"))
-            image = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/wk.png")));
-        else image = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/bk.png")));
+        super(player, Board.KING);
     }
 
     /**
-     * Gets the possible moves of this piece.
+     * Adds the moves of this piece to a list, without verifying if they leave the king in check.
+     * The squares are looked up in the precomputed King attack table.
      *
      * @param board Reference of the logical board.
-     * @param ind   If true, only return moves that don't result in the king being killed in the next turn.
-     * @return ArrayList of Strings with the possible moves for this King, according to the board state.
+     * @param moves MoveList where the moves for this King, according to the board state, are added.
      */
     @Override
-    public ArrayList<String> getPossibleMoves(Board board, boolean ind){
-        ArrayList<String> moves = new ArrayList<>();
-        HashMap<String, ChessPiece> boardMap = board.getBoard();
-
-        int[] position = board.getPosition(this);
-        String newPosition;
-
-        int[][] directions = {
-                {0, 1},
-                {0, -1},
-                {-1, 0},
-                {1, 0},
-                {1, 1},
-                {1, -1},
-                {-1, -1},
-                {-1, 1}
-        };
-
-        for(int[] d : directions){
-            newPosition = convertVectorToStringPosition(vectorSum(d, position));
-            if(VectorPosition.checkBoardBounds(newPosition)){
-                if(boardMap.get(newPosition) == null)
-                    moves.add(newPosition);
-                else if(!(boardMap.get(newPosition).getPlayer().getColor().equals(super.getPlayer().getColor())))
-                    moves.add(newPosition);
-            }
-        }
-        if(ind)
-            moves = getSafeCheckMoves(board, moves);
-        return moves;
+    public void generateMoves(Board board, MoveList moves){
+        addAttackMoves(board, moves, Board.KING, AttackTables.kingAttacks(square));
     }
 
     /**
@@ -71,15 +32,11 @@ public class King extends ChessPiece{
      * @return String that represents the King's position if it's in check, if it's not in check, returns null.
      */
     public String isInCheck(Board board){
-        String currentPosition = VectorPosition.convertVectorToStringPosition(board.getPosition(this));
-        String enemy = this.getPlayer().getColor().equals("white")? "black" : "white";
-
-        ArrayList<ChessPiece> enemyPieces = board.getPiecesByColor(enemy);
+        int square = board.getSquare(this);
+        int enemy = color ^ 1;
 
-        for(ChessPiece enemyPiece : enemyPieces)
-            if(enemyPiece.getPossibleMoves(board, false) != null)
-                if(enemyPiece.getPossibleMoves(board, false).contains(currentPosition))
-                    return currentPosition;
+        if(board.isSquareAttacked(square, enemy))
+            return VectorPosition.convertSquareToStringPosition(square);
         return null;
     }
 }
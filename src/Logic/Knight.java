@@ -1,12 +1,5 @@
 package Logic;
 
-import javax.swing.*;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Objects;
-
-import static Logic.VectorPosition.*;
-
 /**
  * Represents the piece Knight.
  */
@@ -17,44 +10,18 @@ public class Knight extends ChessPiece{
      * @param player The player to which the piece belongs to.
      */
     public Knight(Player player){
-        super(player);
-        if(player.getColor().equals("white"))
-            image = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/wn.png")));
-        else image = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/bn.png")));
+        super(player, Board.KNIGHT);
     }
 
     /**
-     * Gets the possible moves of this piece.
+     * Adds the moves of this piece to a list, without verifying if they leave the king in check.
+     * The squares are looked up in the precomputed Knight attack table.
      *
      * @param board Reference of the logical board.
-     * @param ind   If true, only return moves that don't result in the king being killed in the next turn.
-     * @return ArrayList of Strings with the possible moves for this Knight, according to the board state.
+     * @param moves MoveList where the moves for this Knight, according to the board state, are added.
      */
     @Override
-    public ArrayList<String> getPossibleMoves(Board board, boolean ind){
-        ArrayList<String> moves = new ArrayList<>();
-        HashMap<String, ChessPiece> boardMap = board.getBoard();
-
-        int[] position = board.getPosition(this);
-        String newPosition;
-
-        int[][] directions = {
-                {2, 1}, {2, -1}, {-2, 1}, {-2, -1},
-                {1, 2}, {1, -2}, {-1, 2}, {-1, -2}
-        };
-
-        for(int[] d : directions){
-            newPosition = convertVectorToStringPosition(vectorSum(d, position));
-            if(checkBoardBounds(newPosition)){
-                if(boardMap.get(newPosition) == null)
-                    moves.add(newPosition);
-                else if(!(boardMap.get(newPosition).getPlayer().getColor().equals(super.getPlayer().getColor())))
-                    moves.add(newPosition);
-
-            }
-        }
-        if(ind)
-            moves = getSafeCheckMoves(board, moves);
-        return moves;
+    public void generateMoves(Board board, MoveList moves){
+        addAttackMoves(board, moves, Board.KNIGHT, AttackTables.knightAttacks(square));
     }
 }
@@ -0,0 +1,86 @@
+package Logic;
+
+/**
+ * The legal moves of the player to move in a position, generated once so they can be queried many times.
+ * Answers which squares a piece can move to, and whether the player to move is in check, checkmate or stalemate.
+ * The cache belongs to the position with its hash: once a move is made on the board, a new cache must be created.
+ */
+public class LegalMoveCache{
+    private final long hash;
+    private final long[] targets = new long[64];
+    private final int moveCount;
+    private final boolean check;
+
+    /**
+     * Generates the legal moves of the player to move on a board.
+     *
+     * @param board Reference of the logical board. It isn't kept, so it can be changed after the cache is created.
+     */
+    public LegalMoveCache(Board board){
+        int color = board.isWhiteTurn()? Board.WHITE : Board.BLACK;
+        MoveList moves = new MoveList();
+        board.generateLegalMoves(color, moves);
+        for(int i = 0; i < moves.size(); i++)
+            targets[Move.getFrom(moves.get(i))] |= 1L << Move.getTo(moves.get(i));
+
+        hash = board.getHash();
+        moveCount = moves.size();
+        check = board.isInCheck(color);
+    }
+
+    /**
+     * Gets the Zobrist hash of the position the moves were generated for.
+     *
+     * @return The hash of the position.
+     */
+    public long getHash(){
+        return hash;
+    }
+
+    /**
+     * Gets the squares a piece can move to.
+     *
+     * @param square Integer from 0 to 63 with the position of the piece.
+     * @return Bitboard with one bit set for each legal new position of the piece. Empty if the square is empty or the
+     * piece belongs to the other player.
+     */
+    public long getTargets(int square){
+        return targets[square];
+    }
+
+    /**
+     * Gets the number of legal moves of the player to move. Each possible promotion counts as a move.
+     *
+     * @return Integer with the number of legal moves.
+     */
+    public int getMoveCount(){
+        return moveCount;
+    }
+
+    /**
+     * Verifies if the King of the player to move is in check.
+     *
+     * @return True if the King is in check, false if it isn't.
+     */
+    public boolean isCheck(){
+        return check;
+    }
+
+    /**
+     * Verifies if the player to move is in checkmate: in check and without legal moves.
+     *
+     * @return True if it is a checkmate, false if it isn't.
+     */
+    public boolean isCheckMate(){
+        return check && moveCount == 0;
+    }
+
+    /**
+     * Verifies if the player to move is in stalemate: not in check, but without legal moves.
+     *
+     * @return True if it is a stalemate, false if it isn't.
+     */
+    public boolean isStalemate(){
+        return !check && moveCount == 0;
+    }
+}
\ No newline at end of file
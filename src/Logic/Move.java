@@ -0,0 +1,118 @@
+package Logic;
+
+/**
+ * Class that contains static methods to create and read moves packed in a single integer.
+ * <p>
+ * Bits 0-5 hold the previous position of the piece, bits 6-11 its new position, bits 12-14 the type of the moved piece,
+ * bits 15-17 the type of the captured piece plus one, bits 18-20 the type of the promoted piece plus one and
+ * bits 21-23 the move flags. Square indexes and piece types follow the constants of {@link Board}.
+ */
+public class Move{
+    public static final int NONE = 0;
+
+    public static final int CAPTURE = 1 << 21;
+    public static final int DOUBLE_PUSH = 1 << 22;
+    public static final int PROMOTION = 1 << 23;
+
+    /**
+     * Packs a move in an integer.
+     *
+     * @param from          Integer from 0 to 63 with the current position of the piece.
+     * @param to            Integer from 0 to 63 with the new position of the piece.
+     * @param movedType     Integer representing the type of the moved piece.
+     * @param capturedType  Integer representing the type of the captured piece, or -1 if the move isn't a capture.
+     * @param promotionType Integer representing the type of the promoted piece, or -1 if the move isn't a promotion.
+     * @param flags         Integer with the DOUBLE_PUSH flag, if needed. CAPTURE and PROMOTION are set automatically.
+     * @return Integer representing the move.
+     */
+    public static int of(int from, int to, int movedType, int capturedType, int promotionType, int flags){
+        if(capturedType >= 0)
+            flags |= CAPTURE;
+        if(promotionType >= 0)
+            flags |= PROMOTION;
+        return from | (to << 6) | (movedType << 12) | ((capturedType + 1) << 15) | ((promotionType + 1) << 18) | flags;
+    }
+
+    /**
+     * Gets the previous position of the moved piece.
+     *
+     * @param move Integer representing a move.
+     * @return Integer from 0 to 63 with the previous position of the moved piece.
+     */
+    public static int getFrom(int move){
+        return move & 63;
+    }
+
+    /**
+     * Gets the new position of the moved piece.
+     *
+     * @param move Integer representing a move.
+     * @return Integer from 0 to 63 with the new position of the moved piece.
+     */
+    public static int getTo(int move){
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * Gets the type of the moved piece.
+     *
+     * @param move Integer representing a move.
+     * @return Integer representing the type of the moved piece.
+     */
+    public static int getMovedType(int move){
+        return (move >>> 12) & 7;
+    }
+
+    /**
+     * Gets the type of the captured piece.
+     *
+     * @param move Integer representing a move.
+     * @return Integer representing the type of the captured piece, or -1 if the move isn't a capture.
+     */
+    public static int getCapturedType(int move){
+        return ((move >>> 15) & 7) - 1;
+    }
+
+    /**
+     * Gets the type of the promoted piece.
+     *
+     * @param move Integer representing a move.
+     * @return Integer representing the type of the promoted piece, or -1 if the move isn't a promotion.
+     */
+    public static int getPromotionType(int move){
+        return ((move >>> 18) & 7) - 1;
+    }
+
+    /**
+     * Verifies if a move is a capture.
+     *
+     * @param move Integer representing a move.
+     * @return True if the move captures a piece, false if it doesn't.
+     */
+    public static boolean isCapture(int move){
+        return (move & CAPTURE) != 0;
+    }
+
+    /**
+     * Verifies if a move is a promotion.
+     *
+     * @param move Integer representing a move.
+     * @return True if the move promotes a Pawn, false if it doesn't.
+     */
+    public static boolean isPromotion(int move){
+        return (move & PROMOTION) != 0;
+    }
+
+    /**
+     * Converts a move to a String with its previous and new positions, followed by the promotion piece if there is one.
+     *
+     * @param move Integer representing a move.
+     * @return String representing the move (for example "g4e4", or "b3a3q" for a promotion).
+     */
+    public static String toString(int move){
+        String moveString = VectorPosition.convertSquareToStringPosition(getFrom(move)) + VectorPosition.convertSquareToStringPosition(getTo(move));
+        if(isPromotion(move))
+            moveString += "pnbrqk".charAt(getPromotionType(move));
+        return moveString;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package Logic;
+
+import java.util.Arrays;
+
+/**
+ * Reusable list of moves packed as integers (see {@link Move}), filled by the move generators without creating objects.
+ */
+public class MoveList{
+    private int[] moves;
+    private int size;
+
+    /**
+     * Instantiates an empty list, with room for more moves than any position has.
+     */
+    public MoveList(){
+        moves = new int[256];
+    }
+
+    /**
+     * Adds a move to the end of the list.
+     *
+     * @param move Integer representing a move.
+     */
+    public void add(int move){
+        if(size == moves.length)
+            moves = Arrays.copyOf(moves, size * 2);
+        moves[size++] = move;
+    }
+
+    /**
+     * Gets a move of the list.
+     *
+     * @param index Integer with the index of the move.
+     * @return Integer representing the move.
+     */
+    public int get(int index){
+        return moves[index];
+    }
+
+    /**
+     * Replaces a move of the list.
+     *
+     * @param index Integer with the index of the move.
+     * @param move  Integer representing the new move.
+     */
+    public void set(int index, int move){
+        moves[index] = move;
+    }
+
+    /**
+     * Gets the number of moves in the list.
+     *
+     * @return Integer with the number of moves.
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Shrinks the list, discarding the moves after the given size.
+     *
+     * @param size Integer with the new number of moves.
+     */
+    public void setSize(int size){
+        this.size = size;
+    }
+
+    /**
+     * Removes all moves from the list, keeping its storage for reuse.
+     */
+    public void clear(){
+        size = 0;
+    }
+}
\ No newline at end of file
@@ -1,70 +1,97 @@
 package Logic;
 
-import javax.swing.*;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Objects;
-
-import static Logic.VectorPosition.*;
-
 /**
- * Represents the piece Pawn.
+ * Represents the piece Pawn. A Pawn can move two squares while it's on the starting row of its player, which it can
+ * only be on if it hasn't moved yet.
  */
 public class Pawn extends ChessPiece{
     protected String originalPosition;
+    private final int startRow;
+    private final int direction;
 
     /**
      * Instantiates a Pawn.
      *
+     * @param player The player to which the piece belongs to.
+     */
+    public Pawn(Player player){
+        super(player, Board.PAWN);
+        startRow = color == Board.WHITE? 6 : 1;
+        direction = color == Board.WHITE? -1 : 1;
+    }
+
+    /**
+     * Instantiates a Pawn, remembering its original position for the String format of the board.
+     *
      * @param position String representing the original position of this pawn.
      * @param player   The player to which the piece belongs to.
      */
     public Pawn(String position, Player player){
-        super(player);
+        this(player);
         originalPosition = position;
-        if(player.getColor().equals("white"))
-            image = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/wp.png")));
-        else image = new ImageIcon(Objects.requireNonNull(getClass().getClassLoader().getResource("Images/bp.png")));
     }
 
     /**
-     * Gets the possible moves of this piece.
+     * Gets the original position of this Pawn, as written in the String format of the board.
+     *
+     * @return String representing the original position given to this Pawn, or, if none was given, the position on the
+     * starting row of its player in its current column.
+     */
+    public String getOriginalPosition(){
+        if(originalPosition != null)
+            return originalPosition;
+        return VectorPosition.convertSquareToStringPosition((startRow << 3) | (square & 7));
+    }
+
+    /**
+     * Adds the moves of this piece to a list, without verifying if they leave the king in check.
+     * A move to the last row is added once for each piece the Pawn can be promoted to.
      *
      * @param board Reference of the logical board.
-     * @param ind   If true, only return moves that don't result in the king being killed in the next turn.
-     * @return ArrayList of Strings with the possible moves for this Pawn, according to the board state.
+     * @param moves MoveList where the moves for this Pawn, according to the board state, are added.
      */
     @Override
-    public ArrayList<String> getPossibleMoves(Board board, boolean ind){
-        ArrayList<String> moves = new ArrayList<>();
-        HashMap<String, ChessPiece> boardMap = board.getBoard();
-
-        int[] position = board.getPosition(this);
-        String newPosition;
-        int i;
+    public void generateMoves(Board board, MoveList moves){
+        int row = square >> 3;
+        int col = square & 7;
+        int forwardRow = row + direction;
 
-        if(originalPosition.charAt(0) == 'b')
-            i = 2;
-        else i = -2;
+        if(forwardRow < 0 || forwardRow > 7)
+            return;
 
-        if(originalPosition.equals(VectorPosition.convertVectorToStringPosition(board.getPosition(this))) && boardMap.get(convertVectorToStringPosition(vectorSum(position, new int[]{i / 2, 0}))) == null && boardMap.get(convertVectorToStringPosition(vectorSum(position, new int[]{i, 0}))) == null)
-            if(VectorPosition.checkBoardBounds(vectorSum(vectorMultiplication(new int[]{1, 0}, i), position)))
-                moves.add(convertVectorToStringPosition(vectorSum(vectorMultiplication(new int[]{1, 0}, i), position)));
+        int forward = (forwardRow << 3) | col;
+        if(board.getPiece(forward) == null){
+            addPawnMove(moves, forward, -1, Move.NONE);
 
-        position = vectorSum(vectorMultiplication(new int[]{1, 0}, i / 2), position);
+            int doubleForward = forward + direction * 8;
+            if(row == startRow && board.getPiece(doubleForward) == null)
+                addPawnMove(moves, doubleForward, -1, Move.DOUBLE_PUSH);
+        }
 
-        if(boardMap.get(convertVectorToStringPosition(position)) == null && VectorPosition.checkBoardBounds(position))
-            moves.add(convertVectorToStringPosition(position));
+        for(int c = col - 1; c <= col + 1; c += 2){
+            if(c < 0 || c > 7)
+                continue;
+            int to = (forwardRow << 3) | c;
+            if(board.getPieceColor(to) == (color ^ 1))
+                addPawnMove(moves, to, board.getPieceType(to), Move.NONE);
+        }
+    }
 
-        for(int k = -1; k < 2; k++)
-            if(k != 0){
-                newPosition = convertVectorToStringPosition(vectorSum(vectorMultiplication(new int[]{0, 1}, k), position));
-                if(boardMap.get(newPosition) != null && VectorPosition.checkBoardBounds(position))
-                    if(!(boardMap.get(newPosition).getPlayer().equals(this.getPlayer())))
-                        moves.add(newPosition);
-            }
-        if(ind)
-            moves = getSafeCheckMoves(board, moves);
-        return moves;
+    /**
+     * Adds a move of this Pawn, or one move for each possible promotion if it reaches the last row.
+     *
+     * @param moves        MoveList where the moves are added.
+     * @param to           Integer from 0 to 63 with the new position.
+     * @param capturedType Integer representing the type of the captured piece, or -1 if the move isn't a capture.
+     * @param flags        Integer with the move flags.
+     */
+    private void addPawnMove(MoveList moves, int to, int capturedType, int flags){
+        int toRow = to >> 3;
+        if((direction > 0 && toRow == 7) || (direction < 0 && toRow == 0)){
+            moves.add(Move.of(square, to, Board.PAWN, capturedType, Board.QUEEN, flags));
+            moves.add(Move.of(square, to, Board.PAWN, capturedType, Board.ROOK, flags));
+            moves.add(Move.of(square, to, Board.PAWN, capturedType, Board.BISHOP, flags));
+            moves.add(Move.of(square, to, Board.PAWN, capturedType, Board.KNIGHT, flags));
+        }else moves.add(Move.of(square, to, Board.PAWN, capturedType, -1, flags));
     }
 }
@@ -0,0 +1,131 @@
+package Logic;
+
+import Files.MatchSaveAndPreferences;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Command-line harness that counts the positions reached by every sequence of legal moves up to a depth (perft),
+ * used to validate the move generator and to measure its throughput outside the GUI.
+ * <p>
+ * Usage: {@code java Logic.Perft <depth> [save file | FEN]}. Without a position, the default starting position is used.
+ */
+public class Perft{
+    /**
+     * Runs perft from the command line, printing the node count of each root move, the total node count,
+     * the elapsed time and the nodes per second.
+     *
+     * @param args The depth, optionally followed by the path of a saved game or a position in FEN.
+     */
+    public static void main(String[] args){
+        if(args.length < 1){
+            System.err.println("Usage: java Logic.Perft <depth> [save file | FEN]");
+            return;
+        }
+
+        int depth = Integer.parseInt(args[0]);
+        Board board = new Board(true);
+
+        if(args.length > 1){
+            try{
+                board = new File(args[1]).exists()? MatchSaveAndPreferences.loadBoard(args[1]) : Board.fromFen(args[1]);
+            }catch(IOException | IllegalArgumentException e){
+                System.err.println("Error loading position: " + e.getMessage());
+                return;
+            }
+        }
+
+        divide(board, board.isWhiteTurn()? Board.WHITE : Board.BLACK, depth);
+    }
+
+    /**
+     * Runs perft, printing the node count of each root move, the total node count, the elapsed time and the nodes per second.
+     *
+     * @param board Reference of the logical board.
+     * @param color Integer representing the player to move (Board.WHITE or Board.BLACK).
+     * @param depth Integer with the number of plies to be searched.
+     * @return The total number of nodes.
+     */
+    public static long divide(Board board, int color, int depth){
+        MoveList[] moveLists = createMoveLists(depth);
+        MoveList rootMoves = moveLists[0];
+        long nodes = 0;
+        long start = System.nanoTime();
+
+        rootMoves.clear();
+        board.generateLegalMoves(color, rootMoves);
+        for(int i = 0; i < rootMoves.size(); i++){
+            int move = rootMoves.get(i);
+            long moveNodes = 1;
+            if(depth > 1){
+                UndoInfo undo = board.makeMove(move);
+                moveNodes = perft(board, color ^ 1, depth - 1, moveLists, 1);
+                board.unmakeMove(undo);
+            }
+            nodes += moveNodes;
+            System.out.println(Move.toString(move) + ": " + moveNodes);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        System.out.println();
+        System.out.println("Nodes: " + nodes);
+        System.out.println("Time: " + elapsed / 1000000 + " ms");
+        System.out.println("Nodes/sec: " + (elapsed > 0? nodes * 1000000000L / elapsed : 0));
+        return nodes;
+    }
+
+    /**
+     * Counts the positions reached by every sequence of legal moves up to a depth.
+     *
+     * @param board Reference of the logical board.
+     * @param color Integer representing the player to move (Board.WHITE or Board.BLACK).
+     * @param depth Integer with the number of plies to be searched.
+     * @return The number of positions reached.
+     */
+    public static long perft(Board board, int color, int depth){
+        if(depth == 0)
+            return 1;
+        return perft(board, color, depth, createMoveLists(depth), 0);
+    }
+
+    /**
+     * Counts the positions reached by every sequence of legal moves up to a depth, reusing one move list per ply.
+     *
+     * @param board     Reference of the logical board.
+     * @param color     Integer representing the player to move (Board.WHITE or Board.BLACK).
+     * @param depth     Integer with the number of plies to be searched, at least 1.
+     * @param moveLists Array with one MoveList per ply.
+     * @param ply       Integer with the number of plies from the root.
+     * @return The number of positions reached.
+     */
+    private static long perft(Board board, int color, int depth, MoveList[] moveLists, int ply){
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        board.generateLegalMoves(color, moves);
+
+        if(depth == 1)
+            return moves.size();
+
+        long nodes = 0;
+        for(int i = 0; i < moves.size(); i++){
+            UndoInfo undo = board.makeMove(moves.get(i));
+            nodes += perft(board, color ^ 1, depth - 1, moveLists, ply + 1);
+            board.unmakeMove(undo);
+        }
+        return nodes;
+    }
+
+    /**
+     * Creates one reusable MoveList per ply.
+     *
+     * @param depth Integer with the number of plies to be searched.
+     * @return Array of MoveList.
+     */
+    private static MoveList[] createMoveLists(int depth){
+        MoveList[] moveLists = new MoveList[Math.max(depth, 1)];
+        for(int i = 0; i < moveLists.length; i++)
+            moveLists[i] = new MoveList();
+        return moveLists;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package Logic;
+
+/**
+ * Class that contains static methods to create and read piece codes: the type and color of a piece packed in a byte,
+ * as stored by the board for each square.
+ * <p>
+ * Bits 0-2 hold the piece type plus one and bit 3 the piece color, so an empty square has the code {@link #EMPTY}.
+ * Piece types and colors follow the constants of {@link Board}.
+ */
+public class PieceCode{
+    public static final byte EMPTY = 0;
+
+    /**
+     * Packs the type and color of a piece in a byte.
+     *
+     * @param type  Integer representing the piece type (Board.PAWN, Board.KNIGHT, Board.BISHOP, Board.ROOK, Board.QUEEN or Board.KING).
+     * @param color Integer representing the piece color (Board.WHITE or Board.BLACK).
+     * @return Byte representing the piece.
+     */
+    public static byte of(int type, int color){
+        return (byte) ((color << 3) | (type + 1));
+    }
+
+    /**
+     * Gets the type of a piece code.
+     *
+     * @param code Byte representing a piece.
+     * @return Integer representing the piece type, or -1 if the code is EMPTY.
+     */
+    public static int getType(byte code){
+        return (code & 7) - 1;
+    }
+
+    /**
+     * Gets the color of a piece code.
+     *
+     * @param code Byte representing a piece.
+     * @return Integer representing the piece color (Board.WHITE or Board.BLACK), or -1 if the code is EMPTY.
+     */
+    public static int getColor(byte code){
+        if(code == EMPTY)
+            return -1;
+        return code >> 3;
+    }
+}
\ No newline at end of file
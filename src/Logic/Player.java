@@ -2,9 +2,11 @@ package Logic;
 
 /**
  * Represents a player that owns the pieces of the color "white" or "black".
+ * Players are immutable, so boards on different threads can share them.
  */
 public class Player{
     private final String color;
+    private final int colorIndex;
 
     /**
      * Instantiates a player.
@@ -15,6 +17,7 @@ public class Player{
         if(num == 0)
             color = "white";
         else color = "black";
+        colorIndex = num == 0? Board.WHITE : Board.BLACK;
     }
 
     /**
@@ -25,4 +28,13 @@ public class Player{
     public String getColor(){
         return color;
     }
+
+    /**
+     * Gets the color of the player as the index used by the board.
+     *
+     * @return Integer representing the player's color (Board.WHITE or Board.BLACK).
+     */
+    public int getColorIndex(){
+        return colorIndex;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package Logic;
+
+/**
+ * Converts moves to and from Standard Algebraic Notation (SAN), as written in PGN files (for example "Nf3", "exd5" or
+ * "e8=Q+"). Files "a" to "h" are the columns 0 to 7, and ranks are counted from white's side, so rank 1 is row "h" and
+ * rank 8 is row "a". The board has no castling or en passant, so these moves are never matched.
+ */
+public class San{
+    private static final String PIECES = "PNBRQK";
+
+    /**
+     * Converts a legal move to SAN, with the suffix "+" for a check or "#" for a checkmate.
+     *
+     * @param board Reference of the board, in the position before the move. It's left unchanged.
+     * @param move  Integer representing a legal move.
+     * @return String with the move in SAN.
+     */
+    public static String toSan(Board board, int move){
+        StringBuilder san = new StringBuilder(8);
+        append(board, move, new MoveList(), san);
+        return san.toString();
+    }
+
+    /**
+     * Writes a legal move in SAN, with the suffix "+" for a check or "#" for a checkmate.
+     *
+     * @param board   Reference of the board, in the position before the move. It's left unchanged.
+     * @param move    Integer representing a legal move.
+     * @param scratch MoveList used to generate the legal moves, so it can be reused between calls.
+     * @param out     StringBuilder where the move is written.
+     */
+    public static void append(Board board, int move, MoveList scratch, StringBuilder out){
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int type = Move.getMovedType(move);
+        int color = board.getPieceColor(from);
+        boolean isCapture = board.getPieceCode(to) != PieceCode.EMPTY;
+
+        if(type == Board.PAWN){
+            if(isCapture)
+                out.append(file(from));
+        }else{
+            out.append(PIECES.charAt(type));
+            scratch.clear();
+            board.generateLegalMoves(color, scratch);
+            boolean isAmbiguous = false, sameFile = false, sameRank = false;
+            for(int i = 0; i < scratch.size(); i++){
+                int other = scratch.get(i);
+                if(Move.getTo(other) != to || Move.getMovedType(other) != type || Move.getFrom(other) == from)
+                    continue;
+                isAmbiguous = true;
+                sameFile |= (Move.getFrom(other) & 7) == (from & 7);
+                sameRank |= (Move.getFrom(other) >> 3) == (from >> 3);
+            }
+            if(isAmbiguous && (!sameFile || sameRank))
+                out.append(file(from));
+            if(isAmbiguous && sameFile)
+                out.append(rank(from));
+        }
+        if(isCapture)
+            out.append('x');
+        out.append(file(to)).append(rank(to));
+        if(Move.isPromotion(move))
+            out.append('=').append(PIECES.charAt(Move.getPromotionType(move)));
+
+        UndoInfo undo = board.makeMove(move);
+        if(board.isInCheck(color ^ 1)){
+            scratch.clear();
+            board.generateLegalMoves(color ^ 1, scratch);
+            out.append(scratch.size() == 0? '#' : '+');
+        }
+        board.unmakeMove(undo);
+    }
+
+    /**
+     * Finds the legal move of the player to move written in SAN. Check, checkmate and annotation suffixes are ignored,
+     * the "=" before a promotion is optional, and moves written with both positions (such as "e2e4") are accepted.
+     *
+     * @param board   Reference of the board, in the position before the move.
+     * @param san     CharSequence containing the move.
+     * @param start   Integer with the index of the first character of the move.
+     * @param end     Integer with the index after the last character of the move.
+     * @param scratch MoveList used to generate the legal moves, so it can be reused between calls.
+     * @return Integer representing the move, or -1 if no legal move matches or more than one does.
+     */
+    public static int parse(Board board, CharSequence san, int start, int end, MoveList scratch){
+        while(end > start && "+#!?".indexOf(san.charAt(end - 1)) >= 0)
+            end--;
+        if(end - start < 2)
+            return -1;
+
+        int type = PIECES.indexOf(san.charAt(start));
+        if(type < 0)
+            type = Board.PAWN;
+        else start++;
+
+        int promotionType = -1;
+        if(type == Board.PAWN){
+            int promotion = PIECES.indexOf(Character.toUpperCase(san.charAt(end - 1)));
+            if(promotion > Board.PAWN && promotion < Board.KING){
+                promotionType = promotion;
+                end--;
+                if(end > start && san.charAt(end - 1) == '=')
+                    end--;
+            }
+        }
+        if(end - start < 2)
+            return -1;
+
+        int toCol = san.charAt(end - 2) - 'a';
+        int toRank = san.charAt(end - 1) - '1';
+        if(toCol < 0 || toCol > 7 || toRank < 0 || toRank > 7)
+            return -1;
+        int to = ((7 - toRank) << 3) | toCol;
+
+        int fromCol = -1, fromRow = -1;
+        for(int i = start; i < end - 2; i++){
+            char c = san.charAt(i);
+            if(c >= 'a' && c <= 'h')
+                fromCol = c - 'a';
+            else if(c >= '1' && c <= '8')
+                fromRow = 7 - (c - '1');
+            else if(c != 'x' && c != '-' && c != ':')
+                return -1;
+        }
+
+        scratch.clear();
+        board.generateLegalMoves(board.isWhiteTurn()? Board.WHITE : Board.BLACK, scratch);
+        int found = -1;
+        for(int i = 0; i < scratch.size(); i++){
+            int move = scratch.get(i);
+            int from = Move.getFrom(move);
+            if(Move.getTo(move) != to || Move.getMovedType(move) != type || Move.getPromotionType(move) != promotionType
+                    || (fromCol >= 0 && (from & 7) != fromCol) || (fromRow >= 0 && (from >> 3) != fromRow))
+                continue;
+            if(found >= 0)
+                return -1;
+            found = move;
+        }
+        return found;
+    }
+
+    /**
+     * Gets the SAN file of a square.
+     *
+     * @param square Integer from 0 to 63 representing a position.
+     * @return Character from 'a' to 'h'.
+     */
+    private static char file(int square){
+        return (char) ('a' + (square & 7));
+    }
+
+    /**
+     * Gets the SAN rank of a square.
+     *
+     * @param square Integer from 0 to 63 representing a position.
+     * @return Character from '1' to '8'.
+     */
+    private static char rank(int square){
+        return (char) ('8' - (square >> 3));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package Logic;
+
+/**
+ * Stores the information needed to revert a move made with {@link Board#makeMove(int, int, ChessPiece)}.
+ */
+public class UndoInfo{
+    private final int from;
+    private final int to;
+    private final ChessPiece movedPiece;
+    private final ChessPiece capturedPiece;
+    private final ChessPiece promotedPiece;
+
+    /**
+     * Instantiates the undo information of a move.
+     *
+     * @param from          Integer from 0 to 63 with the previous position of the moved piece.
+     * @param to            Integer from 0 to 63 with the new position of the moved piece.
+     * @param movedPiece    The piece that was moved.
+     * @param capturedPiece The piece that was captured, or null if the move wasn't a capture.
+     * @param promotedPiece The piece that replaced the moved piece after a promotion, or null if there was no promotion.
+     */
+    public UndoInfo(int from, int to, ChessPiece movedPiece, ChessPiece capturedPiece, ChessPiece promotedPiece){
+        this.from = from;
+        this.to = to;
+        this.movedPiece = movedPiece;
+        this.capturedPiece = capturedPiece;
+        this.promotedPiece = promotedPiece;
+    }
+
+    /**
+     * Gets the previous position of the moved piece.
+     *
+     * @return Integer from 0 to 63 with the previous position of the moved piece.
+     */
+    public int getFrom(){
+        return from;
+    }
+
+    /**
+     * Gets the new position of the moved piece.
+     *
+     * @return Integer from 0 to 63 with the new position of the moved piece.
+     */
+    public int getTo(){
+        return to;
+    }
+
+    /**
+     * Gets the piece that was moved.
+     *
+     * @return The piece that was moved.
+     */
+    public ChessPiece getMovedPiece(){
+        return movedPiece;
+    }
+
+    /**
+     * Gets the piece that was captured.
+     *
+     * @return The piece that was captured, or null if the move wasn't a capture.
+     */
+    public ChessPiece getCapturedPiece(){
+        return capturedPiece;
+    }
+
+    /**
+     * Gets the piece that replaced the moved piece after a promotion.
+     *
+     * @return The promoted piece, or null if there was no promotion.
+     */
+    public ChessPiece getPromotedPiece(){
+        return promotedPiece;
+    }
+}
\ No newline at end of file
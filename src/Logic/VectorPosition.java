@@ -66,4 +66,48 @@ public class VectorPosition{
     public static int[] convertStringToVector(String position){
         return new int[]{((int) position.charAt(0) - 'a'), Integer.parseInt(String.valueOf(position.charAt(1)))};
     }
+
+    /**
+     * Converts an integer vector representing a position to a square index (row * 8 + column).
+     *
+     * @param vec Integer vector representing a position.
+     * @return Integer from 0 to 63 representing the same position, or -1 if the position is out of the board bounds.
+     */
+    public static int convertVectorToSquare(int[] vec){
+        if(!checkBoardBounds(vec))
+            return -1;
+        return (vec[0] << 3) | vec[1];
+    }
+
+    /**
+     * Converts a String representing a position to a square index (row * 8 + column).
+     *
+     * @param position String representing a position.
+     * @return Integer from 0 to 63 representing the same position, or -1 if the position is out of the board bounds.
+     */
+    public static int convertStringToSquare(String position){
+        if(position == null || position.length() < 2 || !checkBoardBounds(position))
+            return -1;
+        return ((position.charAt(0) - 'a') << 3) | (position.charAt(1) - '0');
+    }
+
+    /**
+     * Converts a square index to an integer vector.
+     *
+     * @param square Integer from 0 to 63 representing a position.
+     * @return Integer vector representing the same position as the parameter.
+     */
+    public static int[] convertSquareToVector(int square){
+        return new int[]{square >> 3, square & 7};
+    }
+
+    /**
+     * Converts a square index to a String.
+     *
+     * @param square Integer from 0 to 63 representing a position.
+     * @return String representing the same position as the parameter.
+     */
+    public static String convertSquareToStringPosition(int square){
+        return String.valueOf(new char[]{(char) ('a' + (square >> 3)), (char) ('0' + (square & 7))});
+    }
 }
\ No newline at end of file
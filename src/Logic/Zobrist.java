@@ -0,0 +1,43 @@
+package Logic;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class that contains the random keys used to hash positions (Zobrist hashing).
+ * The hash of a position is the XOR of the key of each piece on its square, plus the side key if it's black's turn,
+ * so it can be updated incrementally whenever a piece is placed, removed or the turn changes.
+ */
+public class Zobrist{
+    private static final long[][][] PIECE_KEYS = new long[2][6][64];
+    private static final long SIDE_KEY;
+
+    static{
+        SplittableRandom random = new SplittableRandom(0x4A617661436865L);
+        for(int color = 0; color < 2; color++)
+            for(int type = 0; type < 6; type++)
+                for(int square = 0; square < 64; square++)
+                    PIECE_KEYS[color][type][square] = random.nextLong();
+        SIDE_KEY = random.nextLong();
+    }
+
+    /**
+     * Gets the key of a piece on a square.
+     *
+     * @param color  Integer representing the player color (Board.WHITE or Board.BLACK).
+     * @param type   Integer representing the piece type.
+     * @param square Integer from 0 to 63 with the position of the piece.
+     * @return The 64-bit key of the piece on the square.
+     */
+    public static long pieceKey(int color, int type, int square){
+        return PIECE_KEYS[color][type][square];
+    }
+
+    /**
+     * Gets the key that is added to the hash when it's black's turn.
+     *
+     * @return The 64-bit key of the side to move.
+     */
+    public static long sideKey(){
+        return SIDE_KEY;
+    }
+}
\ No newline at end of file
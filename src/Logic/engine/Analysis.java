@@ -0,0 +1,72 @@
+package Logic.engine;
+
+import Files.MatchSaveAndPreferences;
+import Logic.Board;
+import Logic.Move;
+
+import java.io.IOException;
+
+/**
+ * Command-line position analysis on all cores. Searches a position to a fixed depth with one thread and then with
+ * the parallel search, reporting the time to depth of each and the speedup.
+ * <p>
+ * Usage: {@code java Logic.engine.Analysis <depth> [threads] [save file]}. The number of threads defaults to the
+ * number of available processors, and without a save file the default starting position is used.
+ */
+public class Analysis{
+    private static final int TABLE_SIZE_MB = 64;
+
+    /**
+     * Runs the analysis from the command line.
+     *
+     * @param args The depth, optionally followed by the number of threads and the path of a saved game.
+     */
+    public static void main(String[] args){
+        if(args.length < 1){
+            System.err.println("Usage: java Logic.engine.Analysis <depth> [threads] [save file]");
+            return;
+        }
+
+        int depth = Integer.parseInt(args[0]);
+        int threads = args.length > 1? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Board board = new Board(true);
+
+        if(args.length > 2){
+            try{
+                board = MatchSaveAndPreferences.loadBoard(args[2]);
+            }catch(IOException e){
+                System.err.println("Error loading position: " + e.getMessage());
+                return;
+            }
+        }
+
+        ParallelSearch warmUp = new ParallelSearch(1, TABLE_SIZE_MB);
+        warmUp.findBestMove(board, 0, Math.max(1, depth - 2));
+        warmUp.shutdown();
+
+        long singleTime = analyse(board, depth, 1);
+        long parallelTime = analyse(board, depth, threads);
+        System.out.printf("Speedup with %d threads: %.2fx%n", threads, (double) singleTime / Math.max(parallelTime, 1));
+    }
+
+    /**
+     * Searches a position to a fixed depth, printing the best move, the time to depth, the nodes and the nodes per second.
+     *
+     * @param board   Reference of the logical board.
+     * @param depth   Integer with the depth to be searched.
+     * @param threads Integer with the number of threads.
+     * @return Long with the time to depth in nanoseconds.
+     */
+    public static long analyse(Board board, int depth, int threads){
+        ParallelSearch search = new ParallelSearch(threads, TABLE_SIZE_MB);
+        long start = System.nanoTime();
+        int move = search.findBestMove(board, 0, depth);
+        long elapsed = Math.max(System.nanoTime() - start, 1);
+        search.shutdown();
+
+        System.out.println(threads + " thread(s): best move " + (move == Move.NONE? "none" : Move.toString(move))
+                + ", depth " + search.getCompletedDepth() + ", time " + elapsed / 1000000 + " ms, nodes " + search.getNodes()
+                + ", nodes/sec " + search.getNodes() * 1000000000L / elapsed);
+        return elapsed;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package Logic.engine;
+
+import Logic.Board;
+
+/**
+ * Static evaluation of a position, by material and piece-square tables.
+ * <p>
+ * The tables are written from white's point of view, starting at row "a" (the row black starts on), so a square index
+ * reads white's table directly and black's table mirrored by row.
+ */
+public class Evaluation{
+    public static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 20000};
+
+    private static final int[][] PIECE_SQUARE_TABLES = {
+            {
+                    0, 0, 0, 0, 0, 0, 0, 0,
+                    50, 50, 50, 50, 50, 50, 50, 50,
+                    10, 10, 20, 30, 30, 20, 10, 10,
+                    5, 5, 10, 25, 25, 10, 5, 5,
+                    0, 0, 0, 20, 20, 0, 0, 0,
+                    5, -5, -10, 0, 0, -10, -5, 5,
+                    5, 10, 10, -20, -20, 10, 10, 5,
+                    0, 0, 0, 0, 0, 0, 0, 0
+            },
+            {
+                    -50, -40, -30, -30, -30, -30, -40, -50,
+                    -40, -20, 0, 0, 0, 0, -20, -40,
+                    -30, 0, 10, 15, 15, 10, 0, -30,
+                    -30, 5, 15, 20, 20, 15, 5, -30,
+                    -30, 0, 15, 20, 20, 15, 0, -30,
+                    -30, 5, 10, 15, 15, 10, 5, -30,
+                    -40, -20, 0, 5, 5, 0, -20, -40,
+                    -50, -40, -30, -30, -30, -30, -40, -50
+            },
+            {
+                    -20, -10, -10, -10, -10, -10, -10, -20,
+                    -10, 0, 0, 0, 0, 0, 0, -10,
+                    -10, 0, 5, 10, 10, 5, 0, -10,
+                    -10, 5, 5, 10, 10, 5, 5, -10,
+                    -10, 0, 10, 10, 10, 10, 0, -10,
+                    -10, 10, 10, 10, 10, 10, 10, -10,
+                    -10, 5, 0, 0, 0, 0, 5, -10,
+                    -20, -10, -10, -10, -10, -10, -10, -20
+            },
+            {
+                    0, 0, 0, 0, 0, 0, 0, 0,
+                    5, 10, 10, 10, 10, 10, 10, 5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    0, 0, 0, 5, 5, 0, 0, 0
+            },
+            {
+                    -20, -10, -10, -5, -5, -10, -10, -20,
+                    -10, 0, 0, 0, 0, 0, 0, -10,
+                    -10, 0, 5, 5, 5, 5, 0, -10,
+                    -5, 0, 5, 5, 5, 5, 0, -5,
+                    0, 0, 5, 5, 5, 5, 0, -5,
+                    -10, 5, 5, 5, 5, 5, 0, -10,
+                    -10, 0, 5, 0, 0, 0, 0, -10,
+                    -20, -10, -10, -5, -5, -10, -10, -20
+            },
+            {
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -20, -30, -30, -40, -40, -30, -30, -20,
+                    -10, -20, -20, -20, -20, -20, -20, -10,
+                    20, 20, 0, 0, 0, 0, 20, 20,
+                    20, 30, 10, 0, 0, 10, 30, 20
+            }
+    };
+
+    /**
+     * Evaluates a position.
+     *
+     * @param board Reference of the logical board.
+     * @return Integer with the score in centipawns, positive if the position is better for the player to move.
+     */
+    public static int evaluate(Board board){
+        int score = 0;
+        for(int type = Board.PAWN; type <= Board.KING; type++){
+            score += evaluatePieces(board.getPieceBitboard(type, Board.WHITE), type, 0);
+            score -= evaluatePieces(board.getPieceBitboard(type, Board.BLACK), type, 56);
+        }
+        return board.isWhiteTurn()? score : -score;
+    }
+
+    /**
+     * Adds the material and position values of a set of pieces of the same type and color.
+     *
+     * @param pieces Bitboard with the squares of the pieces.
+     * @param type   Integer representing the piece type.
+     * @param mirror Integer XORed with each square to read the table from the pieces' player point of view.
+     * @return Integer with the sum of the values of the pieces.
+     */
+    private static int evaluatePieces(long pieces, int type, int mirror){
+        int score = 0;
+        while(pieces != 0){
+            score += PIECE_VALUES[type] + PIECE_SQUARE_TABLES[type][Long.numberOfTrailingZeros(pieces) ^ mirror];
+            pieces &= pieces - 1;
+        }
+        return score;
+    }
+}
\ No newline at end of file
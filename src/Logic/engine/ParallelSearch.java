@@ -0,0 +1,115 @@
+package Logic.engine;
+
+import Logic.Board;
+import Logic.Move;
+
+import java.util.concurrent.*;
+
+/**
+ * Parallel best-move search (Lazy SMP): several threads search the same root position, each on its own copy of the
+ * board, and share what they find through a common {@link TranspositionTable}. The first thread to finish stops the
+ * others, and the result of the deepest completed search is used.
+ */
+public class ParallelSearch{
+    private final int threadCount;
+    private final TranspositionTable table;
+    private final Search[] searches;
+    private final ExecutorService executor;
+
+    /**
+     * Instantiates a parallel search.
+     *
+     * @param threadCount Integer with the number of searching threads, at least 1.
+     * @param tableSizeMb Integer with the size of the shared transposition table in megabytes.
+     */
+    public ParallelSearch(int threadCount, int tableSizeMb){
+        this.threadCount = Math.max(1, threadCount);
+        table = new TranspositionTable(tableSizeMb);
+        searches = new Search[this.threadCount];
+        for(int i = 0; i < this.threadCount; i++)
+            searches[i] = new Search(table);
+        executor = Executors.newFixedThreadPool(this.threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Searches the best move for the player to move on all threads.
+     *
+     * @param board     Reference of the logical board to be searched. It isn't changed.
+     * @param timeLimit Long with the time budget in milliseconds, or 0 to search until the maximum depth.
+     * @param maxDepth  Integer with the maximum depth to be searched.
+     * @return Integer representing the best move found (see {@link Move}), or Move.NONE if there are no legal moves.
+     */
+    public int findBestMove(Board board, long timeLimit, int maxDepth){
+        CompletionService<Integer> completionService = new ExecutorCompletionService<>(executor);
+        int[] bestMoves = new int[threadCount];
+
+        for(int i = 0; i < threadCount; i++){
+            int index = i;
+            Board threadBoard = board.cloneBoard();
+            completionService.submit(() -> bestMoves[index] = searches[index].findBestMove(threadBoard, timeLimit, maxDepth, 1 + index % 2));
+        }
+
+        try{
+            completionService.take();
+            for(Search search : searches)
+                search.stop();
+            for(int i = 1; i < threadCount; i++)
+                completionService.take();
+        }catch(InterruptedException e){
+            for(Search search : searches)
+                search.stop();
+            Thread.currentThread().interrupt();
+            return Move.NONE;
+        }
+
+        int best = 0;
+        for(int i = 1; i < threadCount; i++)
+            if(searches[i].getCompletedDepth() > searches[best].getCompletedDepth())
+                best = i;
+        return bestMoves[best];
+    }
+
+    /**
+     * Gets the total number of positions visited by all threads in the last search.
+     *
+     * @return Long with the number of nodes.
+     */
+    public long getNodes(){
+        long nodes = 0;
+        for(Search search : searches)
+            nodes += search.getNodes();
+        return nodes;
+    }
+
+    /**
+     * Gets the deepest depth fully searched by any thread in the last search.
+     *
+     * @return Integer with the depth.
+     */
+    public int getCompletedDepth(){
+        int depth = 0;
+        for(Search search : searches)
+            depth = Math.max(depth, search.getCompletedDepth());
+        return depth;
+    }
+
+    /**
+     * Removes all positions from the shared transposition table.
+     */
+    public void clearTable(){
+        table.clear();
+    }
+
+    /**
+     * Stops the threads of this search. It can't be used afterwards.
+     */
+    public void shutdown(){
+        for(Search search : searches)
+            search.stop();
+        executor.shutdownNow();
+    }
+}
\ No newline at end of file
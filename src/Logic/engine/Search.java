@@ -0,0 +1,350 @@
+package Logic.engine;
+
+import Logic.Board;
+import Logic.Move;
+import Logic.MoveList;
+import Logic.UndoInfo;
+
+/**
+ * Negamax alpha-beta search with iterative deepening, used by the computer opponent.
+ * <p>
+ * A Search works on the board it is given, making and unmaking moves in place, so it should be given a board that
+ * isn't being used anywhere else (for example, one made with {@link Board#cloneBoard()}). Searches on different
+ * threads may share a {@link TranspositionTable}.
+ */
+public class Search{
+    public static final int INFINITY = 1000000;
+    public static final int MATE = 100000;
+    public static final int MAX_PLY = 64;
+
+    private final MoveList[] moveLists = new MoveList[MAX_PLY + 1];
+    private final int[][] moveScores = new int[MAX_PLY + 1][];
+    private final TranspositionTable table;
+
+    private Board board;
+    private long deadline;
+    private volatile boolean stopped;
+    private long nodes;
+    private int bestMove;
+    private int bestScore;
+    private int completedDepth;
+    private boolean printInfo;
+
+    /**
+     * Instantiates a Search without a transposition table, with one reusable move list per ply.
+     */
+    public Search(){
+        this(null);
+    }
+
+    /**
+     * Instantiates a Search, with one reusable move list per ply.
+     *
+     * @param table The TranspositionTable where searched positions are stored, or null to search without one.
+     */
+    public Search(TranspositionTable table){
+        this.table = table;
+        for(int i = 0; i <= MAX_PLY; i++){
+            moveLists[i] = new MoveList();
+            moveScores[i] = new int[256];
+        }
+    }
+
+    /**
+     * Searches the best move for the player to move, deepening one ply at a time until the time or depth limit.
+     *
+     * @param board     Reference of the logical board to be searched.
+     * @param timeLimit Long with the time budget in milliseconds, or 0 to search until the maximum depth.
+     * @param maxDepth  Integer with the maximum depth to be searched.
+     * @return Integer representing the best move found (see {@link Move}), or Move.NONE if there are no legal moves.
+     */
+    public int findBestMove(Board board, long timeLimit, int maxDepth){
+        return findBestMove(board, timeLimit, maxDepth, 1);
+    }
+
+    /**
+     * Searches the best move for the player to move, deepening one ply at a time from the given depth until the time
+     * or depth limit. Helper threads of a parallel search start at different depths, so they don't all search the same tree.
+     *
+     * @param board      Reference of the logical board to be searched.
+     * @param timeLimit  Long with the time budget in milliseconds, or 0 to search until the maximum depth.
+     * @param maxDepth   Integer with the maximum depth to be searched.
+     * @param startDepth Integer with the first depth to be searched.
+     * @return Integer representing the best move found (see {@link Move}), or Move.NONE if there are no legal moves.
+     */
+    public int findBestMove(Board board, long timeLimit, int maxDepth, int startDepth){
+        this.board = board;
+        long start = System.nanoTime();
+        deadline = timeLimit > 0? start + timeLimit * 1000000L : Long.MAX_VALUE;
+        stopped = false;
+        nodes = 0;
+        bestMove = Move.NONE;
+        bestScore = 0;
+        completedDepth = 0;
+
+        for(int depth = Math.min(startDepth, maxDepth); depth <= Math.min(maxDepth, MAX_PLY); depth++){
+            int previousBestMove = bestMove;
+            int score = negamax(depth, -INFINITY, INFINITY, 0);
+
+            if(stopped){
+                if(bestMove == Move.NONE)
+                    bestMove = previousBestMove;
+                break;
+            }
+
+            bestScore = score;
+            completedDepth = depth;
+            if(printInfo){
+                long elapsed = Math.max(System.nanoTime() - start, 1);
+                System.out.println("depth " + depth + " score " + score + " nodes " + nodes + " time " + elapsed / 1000000 + " ms nps " + nodes * 1000000000L / elapsed + " move " + Move.toString(bestMove));
+            }
+            if(bestMove == Move.NONE || Math.abs(score) >= MATE - MAX_PLY)
+                break;
+        }
+        return bestMove;
+    }
+
+    /**
+     * Stops the search in progress, which returns the best move of the last completed depth.
+     */
+    public void stop(){
+        stopped = true;
+    }
+
+    /**
+     * Searches a position with alpha-beta pruning, from the point of view of the player to move.
+     *
+     * @param depth Integer with the remaining depth.
+     * @param alpha Integer with the lowest score the player to move is guaranteed.
+     * @param beta  Integer with the highest score the opponent allows.
+     * @param ply   Integer with the distance to the root.
+     * @return Integer with the score of the position.
+     */
+    private int negamax(int depth, int alpha, int beta, int ply){
+        if(checkTime())
+            return 0;
+        if(depth == 0 || ply >= MAX_PLY)
+            return quiescence(alpha, beta, ply);
+
+        long hash = board.getHash();
+        int tableMove = Move.NONE;
+        if(table != null){
+            long entry = table.probe(hash);
+            if(entry != 0){
+                tableMove = TranspositionTable.getMove(entry);
+                if(ply > 0 && TranspositionTable.getDepth(entry) >= depth){
+                    int score = fromTableScore(TranspositionTable.getScore(entry), ply);
+                    int bound = TranspositionTable.getBound(entry);
+                    if(bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER_BOUND && score >= beta) || (bound == TranspositionTable.UPPER_BOUND && score <= alpha))
+                        return score;
+                }
+            }
+        }
+
+        int color = board.isWhiteTurn()? Board.WHITE : Board.BLACK;
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        board.generateLegalMoves(color, moves);
+
+        if(moves.size() == 0)
+            return board.isInCheck(color)? -MATE + ply : 0;
+
+        int originalAlpha = alpha;
+        int nodeBestScore = -INFINITY;
+        int nodeBestMove = Move.NONE;
+
+        scoreMoves(moves, moveScores[ply], ply == 0 && bestMove != Move.NONE? bestMove : tableMove);
+        for(int i = 0; i < moves.size(); i++){
+            int move = nextMove(moves, moveScores[ply], i);
+            UndoInfo undo = board.makeMove(move);
+            int score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+            board.unmakeMove(undo);
+
+            if(stopped)
+                return 0;
+            if(score > nodeBestScore){
+                nodeBestScore = score;
+                nodeBestMove = move;
+                if(score > alpha){
+                    alpha = score;
+                    if(ply == 0)
+                        bestMove = move;
+                    if(alpha >= beta)
+                        break;
+                }
+            }
+        }
+
+        if(table != null){
+            int bound = nodeBestScore >= beta? TranspositionTable.LOWER_BOUND : nodeBestScore > originalAlpha? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+            table.store(hash, nodeBestMove, toTableScore(nodeBestScore, ply), depth, bound);
+        }
+        return nodeBestScore;
+    }
+
+    /**
+     * Converts a mate score from distance to the root to distance to the current position, so it can be stored.
+     *
+     * @param score Integer with the score.
+     * @param ply   Integer with the distance to the root.
+     * @return Integer with the score to be stored in the table.
+     */
+    private static int toTableScore(int score, int ply){
+        if(score >= MATE - MAX_PLY)
+            return score + ply;
+        if(score <= -MATE + MAX_PLY)
+            return score - ply;
+        return score;
+    }
+
+    /**
+     * Converts a mate score read from the table back to distance to the root.
+     *
+     * @param score Integer with the stored score.
+     * @param ply   Integer with the distance to the root.
+     * @return Integer with the score.
+     */
+    private static int fromTableScore(int score, int ply){
+        if(score >= MATE - MAX_PLY)
+            return score - ply;
+        if(score <= -MATE + MAX_PLY)
+            return score + ply;
+        return score;
+    }
+
+    /**
+     * Searches only captures and promotions until the position is quiet, so the evaluation isn't taken in the middle of an exchange.
+     *
+     * @param alpha Integer with the lowest score the player to move is guaranteed.
+     * @param beta  Integer with the highest score the opponent allows.
+     * @param ply   Integer with the distance to the root.
+     * @return Integer with the score of the position.
+     */
+    private int quiescence(int alpha, int beta, int ply){
+        int standPat = Evaluation.evaluate(board);
+        if(standPat >= beta || ply >= MAX_PLY)
+            return standPat;
+        if(standPat > alpha)
+            alpha = standPat;
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        board.generateLegalMoves(board.isWhiteTurn()? Board.WHITE : Board.BLACK, moves);
+
+        int tacticalMoves = 0;
+        for(int i = 0; i < moves.size(); i++)
+            if(Move.isCapture(moves.get(i)) || Move.isPromotion(moves.get(i)))
+                moves.set(tacticalMoves++, moves.get(i));
+        moves.setSize(tacticalMoves);
+
+        scoreMoves(moves, moveScores[ply], Move.NONE);
+        for(int i = 0; i < moves.size(); i++){
+            int move = nextMove(moves, moveScores[ply], i);
+            UndoInfo undo = board.makeMove(move);
+            int score = -quiescence(-beta, -alpha, ply + 1);
+            board.unmakeMove(undo);
+
+            if(checkTime())
+                return 0;
+            if(score > alpha){
+                alpha = score;
+                if(alpha >= beta)
+                    break;
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * Counts a node and verifies, every few thousand nodes, if the time budget has run out. The time budget is only
+     * enforced once a root move has been searched, so the search always has a move to return when there is one.
+     *
+     * @return True if the search was stopped, false if it can continue.
+     */
+    private boolean checkTime(){
+        if((++nodes & 2047) == 0 && deadline != Long.MAX_VALUE && bestMove != Move.NONE && System.nanoTime() > deadline)
+            stopped = true;
+        return stopped;
+    }
+
+    /**
+     * Scores the moves for ordering: the given move first, then captures of the most valuable pieces by the least
+     * valuable ones, then promotions, then the remaining moves.
+     *
+     * @param moves     MoveList with the moves to be scored.
+     * @param scores    Integer array where the score of each move is written.
+     * @param firstMove Integer representing the move to be searched first, or Move.NONE.
+     */
+    private void scoreMoves(MoveList moves, int[] scores, int firstMove){
+        for(int i = 0; i < moves.size(); i++){
+            int move = moves.get(i);
+            int score = 0;
+            if(move == firstMove)
+                score = INFINITY;
+            else if(Move.isCapture(move))
+                score = 10 * Evaluation.PIECE_VALUES[Move.getCapturedType(move)] - Evaluation.PIECE_VALUES[Move.getMovedType(move)] + MATE;
+            if(Move.isPromotion(move))
+                score += Evaluation.PIECE_VALUES[Move.getPromotionType(move)];
+            scores[i] = score;
+        }
+    }
+
+    /**
+     * Moves the best scored move not yet searched to the given index.
+     *
+     * @param moves  MoveList with the moves.
+     * @param scores Integer array with the score of each move.
+     * @param index  Integer with the index of the next move to be searched.
+     * @return Integer representing the next move to be searched.
+     */
+    private int nextMove(MoveList moves, int[] scores, int index){
+        int best = index;
+        for(int i = index + 1; i < moves.size(); i++)
+            if(scores[i] > scores[best])
+                best = i;
+
+        int move = moves.get(best);
+        int score = scores[best];
+        moves.set(best, moves.get(index));
+        scores[best] = scores[index];
+        moves.set(index, move);
+        scores[index] = score;
+        return move;
+    }
+
+    /**
+     * Gets the number of positions visited by the last search.
+     *
+     * @return Long with the number of nodes.
+     */
+    public long getNodes(){
+        return nodes;
+    }
+
+    /**
+     * Gets the deepest depth fully searched by the last search.
+     *
+     * @return Integer with the depth.
+     */
+    public int getCompletedDepth(){
+        return completedDepth;
+    }
+
+    /**
+     * Gets the score of the best move of the last completed depth.
+     *
+     * @return Integer with the score in centipawns, from the point of view of the player to move.
+     */
+    public int getBestScore(){
+        return bestScore;
+    }
+
+    /**
+     * Sets whether a line with the depth, score, nodes, time and nodes per second is printed after each completed depth.
+     *
+     * @param printInfo If true, the search information is printed; if false, it isn't.
+     */
+    public void setPrintInfo(boolean printInfo){
+        this.printInfo = printInfo;
+    }
+}
\ No newline at end of file
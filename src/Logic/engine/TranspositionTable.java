@@ -0,0 +1,110 @@
+package Logic.engine;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Hash table of searched positions, indexed by their Zobrist hash and shared by any number of searching threads.
+ * <p>
+ * Each entry is two 64-bit words: the packed data and the hash XORed with the data. Both words are written and read
+ * without locks, so an entry torn by two threads writing at once fails the XOR check and is treated as a miss.
+ * The data packs the best move in bits 0-23, the depth in bits 24-29, the bound in bits 30-31 and the score in bits 32-63.
+ */
+public class TranspositionTable{
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    private final AtomicLongArray entries;
+    private final int mask;
+
+    /**
+     * Instantiates the table, with the largest power of two number of entries that fits in the given size.
+     *
+     * @param sizeMb Integer with the size of the table in megabytes.
+     */
+    public TranspositionTable(int sizeMb){
+        long entryCount = Math.max(1, ((long) sizeMb << 20) / 16);
+        int capacity = Integer.highestOneBit((int) Math.min(entryCount, 1 << 28));
+        entries = new AtomicLongArray(capacity * 2);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param hash Long with the Zobrist hash of the position.
+     * @return The packed data of the position, or 0 if the position isn't in the table.
+     */
+    public long probe(long hash){
+        int index = ((int) hash & mask) << 1;
+        long data = entries.getOpaque(index);
+        long check = entries.getOpaque(index + 1);
+        if(data == 0 || (check ^ data) != hash)
+            return 0;
+        return data;
+    }
+
+    /**
+     * Stores the result of searching a position, replacing the entry in its slot.
+     *
+     * @param hash  Long with the Zobrist hash of the position.
+     * @param move  Integer representing the best move found, or Move.NONE.
+     * @param score Integer with the score of the position.
+     * @param depth Integer with the depth that was searched, from 0 to 63.
+     * @param bound Integer representing whether the score is EXACT, a LOWER_BOUND or an UPPER_BOUND.
+     */
+    public void store(long hash, int move, int score, int depth, int bound){
+        long data = ((long) score << 32) | ((long) bound << 30) | ((long) Math.min(depth, 63) << 24) | (move & 0xFFFFFF);
+        int index = ((int) hash & mask) << 1;
+        entries.setOpaque(index, data);
+        entries.setOpaque(index + 1, hash ^ data);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear(){
+        for(int i = 0; i < entries.length(); i++)
+            entries.setOpaque(i, 0);
+    }
+
+    /**
+     * Gets the best move of an entry.
+     *
+     * @param data Long with the packed data of an entry.
+     * @return Integer representing the move, or Move.NONE.
+     */
+    public static int getMove(long data){
+        return (int) data & 0xFFFFFF;
+    }
+
+    /**
+     * Gets the searched depth of an entry.
+     *
+     * @param data Long with the packed data of an entry.
+     * @return Integer with the depth.
+     */
+    public static int getDepth(long data){
+        return (int) (data >>> 24) & 63;
+    }
+
+    /**
+     * Gets the bound of an entry.
+     *
+     * @param data Long with the packed data of an entry.
+     * @return EXACT, LOWER_BOUND or UPPER_BOUND.
+     */
+    public static int getBound(long data){
+        return (int) (data >>> 30) & 3;
+    }
+
+    /**
+     * Gets the score of an entry.
+     *
+     * @param data Long with the packed data of an entry.
+     * @return Integer with the score.
+     */
+    public static int getScore(long data){
+        return (int) (data >> 32);
+    }
+}
\ No newline at end of file